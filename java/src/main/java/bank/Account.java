@@ -2,15 +2,62 @@ package bank;
 
 import io.vavr.collection.Seq;
 
+import java.time.LocalDate;
+
+import static bank.Amount.toCents;
+import static bank.Amount.toDouble;
+
 public record Account(
-        double balance,
+        long balanceInCents,
         boolean isOverdraftAuthorized,
-        double maxWithdrawal,
-        Seq<Withdraw> withdraws) {
+        long maxWithdrawalInCents,
+        WithdrawHistory history) {
+    /**
+     * Account of a balance and a max withdrawal in dollars: the record constructor takes them in cents.
+     */
+    public static Account of(double balance, boolean isOverdraftAuthorized, double maxWithdrawal, Seq<Withdraw> withdraws) {
+        return new Account(toCents(balance), isOverdraftAuthorized, toCents(maxWithdrawal), WithdrawHistory.of(withdraws));
+    }
+
     public Account withdraw(Withdraw command) {
-        return new Account(balance - command.amount().value(),
+        return new Account(Math.subtractExact(balanceInCents, command.amount().cents()),
                 isOverdraftAuthorized,
-                maxWithdrawal,
-                withdraws().append(command));
+                maxWithdrawalInCents,
+                history.append(command));
+    }
+
+    Account withdrawAll(long balanceInCents, Iterable<Withdraw> commands) {
+        return new Account(balanceInCents,
+                isOverdraftAuthorized,
+                maxWithdrawalInCents,
+                history.appendAll(commands));
+    }
+
+    public Account compact(int window) {
+        return new Account(balanceInCents, isOverdraftAuthorized, maxWithdrawalInCents, history.compact(window));
+    }
+
+    public double balance() {
+        return toDouble(balanceInCents);
+    }
+
+    public double maxWithdrawal() {
+        return toDouble(maxWithdrawalInCents);
+    }
+
+    public Seq<Withdraw> withdraws() {
+        return history.withdraws();
+    }
+
+    public boolean hasAlreadyApplied(Withdraw command) {
+        return history.contains(command);
+    }
+
+    public long withdrawnOn(LocalDate day) {
+        return history.withdrawnOn(day);
+    }
+
+    public long withdrawnOver(LocalDate lastDay, int days) {
+        return history.withdrawnOver(lastDay, days);
     }
-}
\ No newline at end of file
+}
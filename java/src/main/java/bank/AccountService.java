@@ -1,36 +1,200 @@
 package bank;
 
+import bank.WithdrawOutcome.AlreadyApplied;
+import bank.WithdrawOutcome.Applied;
+import bank.WithdrawOutcome.Rejected;
+import bank.WithdrawRejection.InsufficientBalance;
+import bank.WithdrawRecorder.Outcome;
+import bank.WithdrawRejection.LimitExceeded;
+import io.vavr.collection.Vector;
 import io.vavr.control.Either;
 import lombok.experimental.UtilityClass;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+
 import static io.vavr.control.Either.left;
 import static io.vavr.control.Either.right;
 
 @UtilityClass
 public class AccountService {
+    static final long NOT_TIMED = Long.MIN_VALUE;
+
+    private static volatile WithdrawRecorder recorder = WithdrawRecorder.NO_OP;
+
     public static Either<String, Account> withdraw(Account account, Withdraw command) {
+        return tryWithdraw(account, command).mapLeft(WithdrawRejection::message);
+    }
+
+    public static Either<WithdrawRejection, Account> tryWithdraw(Account account, Withdraw command) {
+        var recorder = AccountService.recorder;
+        if (recorder == WithdrawRecorder.NO_OP) return apply(account, command);
+
+        var start = startRecording(recorder);
+        var result = apply(account, command);
+        record(recorder, account, result, start);
+        return result;
+    }
+
+    /**
+     * Records every following {@link #tryWithdraw(Account, Withdraw)}, {@link WithdrawRecorder#NO_OP} turning it off.
+     */
+    public static void record(WithdrawRecorder recorder) {
+        AccountService.recorder = recorder;
+    }
+
+    /**
+     * Applies the commands in order, as successive calls to {@link #withdraw(Account, Withdraw)} would,
+     * but only creates the final {@link Account}. Each command is recorded, a sampled batch giving each of its
+     * commands the time of the batch divided by its size.
+     */
+    public static BatchResult withdrawAll(Account account, Iterable<Withdraw> commands) {
+        var recorder = AccountService.recorder;
+        if (recorder == WithdrawRecorder.NO_OP) return applyAll(account, commands);
+
+        var start = startRecording(recorder);
+        var result = applyAll(account, commands);
+        recordAll(recorder, account, result, start);
+        return result;
+    }
+
+    /**
+     * {@link #withdrawAll(Account, Iterable)} without recording, for callers recording once the result is kept.
+     */
+    static BatchResult applyAll(Account account, Iterable<Withdraw> commands) {
+        var balance = account.balanceInCents();
+        var accepted = new LinkedHashSet<Withdraw>();
+        var outcomes = new ArrayList<WithdrawOutcome>();
+
+        for (var command : commands) {
+            if (hasAlreadyBeenApplied(account, command) || accepted.contains(command))
+                outcomes.add(new AlreadyApplied(command));
+            else if (exceedMaxWithdrawal(account, command))
+                outcomes.add(new Rejected(command, limitExceeded(account)));
+            else if (exceedBalance(account, balance, command))
+                outcomes.add(new Rejected(command, insufficientBalance(command)));
+            else {
+                balance -= command.amount().cents();
+                accepted.add(command);
+                outcomes.add(new Applied(command));
+            }
+        }
+        return new BatchResult(
+                accepted.isEmpty() ? account : account.withdrawAll(balance, accepted),
+                Vector.ofAll(outcomes));
+    }
+
+    /**
+     * Start of a recorded withdraw: the current time when sampled, {@link #NOT_TIMED} otherwise.
+     */
+    static long startRecording() {
+        return startRecording(recorder);
+    }
+
+    /**
+     * Records the outcome of a withdraw applied on {@code account}, started by {@link #startRecording()}.
+     */
+    static void record(Account account, Either<WithdrawRejection, Account> result, long start) {
+        record(recorder, account, result, start);
+    }
+
+    /**
+     * Records every outcome of a batch applied on {@code account}, started by {@link #startRecording()}.
+     */
+    static void recordAll(Account account, BatchResult result, long start) {
+        recordAll(recorder, account, result, start);
+    }
+
+    private static long startRecording(WithdrawRecorder recorder) {
+        return recorder != WithdrawRecorder.NO_OP && recorder.sample() ? System.nanoTime() : NOT_TIMED;
+    }
+
+    private static void record(WithdrawRecorder recorder, Account account, Either<WithdrawRejection, Account> result, long start) {
+        if (recorder == WithdrawRecorder.NO_OP) return;
+
+        if (start == NOT_TIMED) recorder.count(outcomeOf(account, result));
+        else recorder.record(outcomeOf(account, result), System.nanoTime() - start, account.history().size());
+    }
+
+    private static void recordAll(WithdrawRecorder recorder, Account account, BatchResult result, long start) {
+        if (recorder == WithdrawRecorder.NO_OP || result.outcomes().isEmpty()) return;
+
+        var latency = start == NOT_TIMED ? 0 : (System.nanoTime() - start) / result.outcomes().size();
+        for (var outcome : result.outcomes()) {
+            if (start == NOT_TIMED) recorder.count(outcomeOf(outcome));
+            else recorder.record(outcomeOf(outcome), latency, account.history().size());
+        }
+    }
+
+    /**
+     * Whether the command would take the cents withdrawn on the {@code days} days ending with its request date
+     * beyond {@code limitInCents}: {@code days} is 1 for a daily limit. Reads the daily totals of the history
+     * rather than scanning it.
+     * <p>
+     * When these days reach before the days a {@link WithdrawHistory#compacting(int, int) compacting history} keeps,
+     * as for a command backdated beyond them, every cent of the folded days counts against the limit: the check may
+     * then refuse a command the limit would allow, but never lets one exceed it.
+     */
+    public static boolean exceedWithdrawnLimit(Account account, Withdraw command, int days, long limitInCents) {
+        return account.history().withdrawnAtMostOver(command.requestDate(), days) + command.amount().cents() > limitInCents;
+    }
+
+    /**
+     * {@link #tryWithdraw(Account, Withdraw)} without recording, for callers recording once the result is kept.
+     */
+    static Either<WithdrawRejection, Account> apply(Account account, Withdraw command) {
         return hasAlreadyBeenApplied(account, command) ?
                 right(account)
                 : applyWithdraw(account, command);
     }
 
-    private static Either<String, Account> applyWithdraw(Account account, Withdraw command) {
+    private static Outcome outcomeOf(Account account, Either<WithdrawRejection, Account> result) {
+        if (result.isRight())
+            return result.get() == account ? Outcome.DUPLICATE : Outcome.ACCEPTED;
+        else if (result.getLeft() instanceof LimitExceeded)
+            return Outcome.LIMIT_EXCEEDED;
+        else return Outcome.INSUFFICIENT_BALANCE;
+    }
+
+    private static Outcome outcomeOf(WithdrawOutcome outcome) {
+        if (outcome instanceof Applied)
+            return Outcome.ACCEPTED;
+        else if (outcome instanceof AlreadyApplied)
+            return Outcome.DUPLICATE;
+        else if (((Rejected) outcome).rejection() instanceof LimitExceeded)
+            return Outcome.LIMIT_EXCEEDED;
+        else return Outcome.INSUFFICIENT_BALANCE;
+    }
+
+    private static Either<WithdrawRejection, Account> applyWithdraw(Account account, Withdraw command) {
         if (exceedMaxWithdrawal(account, command))
-            return left("Amount exceeding your limit of " + account.maxWithdrawal());
-        else if (exceedBalance(account, command))
-            return left("Insufficient balance to withdraw : " + command.amount().value());
+            return left(limitExceeded(account));
+        else if (exceedBalance(account, account.balanceInCents(), command))
+            return left(insufficientBalance(command));
         else return right(account.withdraw(command));
     }
 
+    private static WithdrawRejection limitExceeded(Account account) {
+        return new LimitExceeded(account.maxWithdrawalInCents());
+    }
+
+    private static WithdrawRejection insufficientBalance(Withdraw command) {
+        return new InsufficientBalance(command.amount().cents());
+    }
+
     private static boolean hasAlreadyBeenApplied(Account account, Withdraw command) {
-        return account.withdraws().contains(command);
+        return account.hasAlreadyApplied(command);
     }
 
     private static boolean exceedMaxWithdrawal(Account account, Withdraw command) {
-        return command.amount().value() >= account.maxWithdrawal();
+        return command.amount().cents() >= account.maxWithdrawalInCents();
     }
 
-    private static boolean exceedBalance(Account account, Withdraw command) {
-        return command.amount().value() > account.balance() && !account.isOverdraftAuthorized();
+    /**
+     * An authorized overdraft still stops where the balance would no longer fit in a long.
+     */
+    private static boolean exceedBalance(Account account, long balanceInCents, Withdraw command) {
+        var cents = command.amount().cents();
+        return cents > balanceInCents && (!account.isOverdraftAuthorized() || balanceInCents < Long.MIN_VALUE + cents);
     }
-}
\ No newline at end of file
+}
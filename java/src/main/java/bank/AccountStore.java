@@ -0,0 +1,101 @@
+package bank;
+
+import bank.WithdrawOutcome.Applied;
+import bank.WithdrawRejection.UnknownAccount;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static io.vavr.control.Either.left;
+import static io.vavr.control.Either.right;
+
+/**
+ * In-memory {@link Account} store safe to share between threads.
+ * <p>
+ * Each account lives in its own {@link AtomicReference}: withdraws compute the next {@link Account}
+ * with {@link AccountService} then publish it with a compare-and-set, retrying on a concurrent update.
+ * Withdraws on different accounts never contend and each account goes through a linear sequence of states.
+ * Withdraws are recorded once, for the attempt kept, whatever the retries.
+ */
+public class AccountStore {
+    private final ConcurrentHashMap<UUID, AtomicReference<Account>> accounts = new ConcurrentHashMap<>();
+    private final Listener listener;
+
+    /**
+     * Notified once for each withdraw actually applied, right after its account has been updated.
+     */
+    public interface Listener {
+        void applied(UUID accountId, Withdraw command);
+    }
+
+    public AccountStore() {
+        this((accountId, command) -> {
+        });
+    }
+
+    public AccountStore(Listener listener) {
+        this.listener = listener;
+    }
+
+    public void open(UUID accountId, Account account) {
+        if (accounts.putIfAbsent(accountId, new AtomicReference<>(account)) != null)
+            throw new IllegalArgumentException("Account " + accountId + " already exists");
+    }
+
+    public Option<Account> find(UUID accountId) {
+        return Option.of(accounts.get(accountId)).map(AtomicReference::get);
+    }
+
+    public Map<UUID, Account> accounts() {
+        return HashMap.ofAll(accounts).mapValues(AtomicReference::get);
+    }
+
+    public Either<WithdrawRejection, Account> withdraw(UUID accountId, Withdraw command) {
+        var reference = accounts.get(accountId);
+        if (reference == null) return left(new UnknownAccount(accountId));
+
+        var start = AccountService.startRecording();
+        while (true) {
+            var current = reference.get();
+            var result = AccountService.apply(current, command);
+
+            if (result.isLeft() || result.get() == current) {
+                AccountService.record(current, result, start);
+                return result;
+            }
+            if (reference.compareAndSet(current, result.get())) {
+                AccountService.record(current, result, start);
+                listener.applied(accountId, command);
+                return result;
+            }
+        }
+    }
+
+    /**
+     * Applies the commands in order in one pass with {@link AccountService#withdrawAll(Account, Iterable)},
+     * publishing only the final account.
+     */
+    public Either<WithdrawRejection, BatchResult> withdrawAll(UUID accountId, Iterable<Withdraw> commands) {
+        var reference = accounts.get(accountId);
+        if (reference == null) return left(new UnknownAccount(accountId));
+
+        var start = AccountService.startRecording();
+        while (true) {
+            var current = reference.get();
+            var result = AccountService.applyAll(current, commands);
+
+            if (result.account() == current || reference.compareAndSet(current, result.account())) {
+                AccountService.recordAll(current, result, start);
+                result.outcomes()
+                        .filter(outcome -> outcome instanceof Applied)
+                        .forEach(outcome -> listener.applied(accountId, outcome.command()));
+                return right(result);
+            }
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package bank;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Map;
+import io.vavr.collection.Traversable;
+import io.vavr.collection.Vector;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+
+/**
+ * State of every account once the first {@code journalSize} records of a {@link WithdrawJournal} have been applied.
+ * <p>
+ * Snapshots are written to a temporary file then atomically moved in place, and end with a CRC32 of their content:
+ * a snapshot is either read entirely or not at all.
+ */
+public record AccountsSnapshot(long journalSize, Map<UUID, Account> accounts) {
+    private static final int MAGIC = 0x57534e51;
+
+    public static Option<AccountsSnapshot> readFrom(Path file) {
+        return Files.exists(file) ?
+                Try.of(() -> read(file)).getOrElse(Option.none())
+                : Option.none();
+    }
+
+    public void writeTo(Path file) throws IOException {
+        var temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        var checksum = new CRC32();
+
+        try (var output = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temporary)), checksum))) {
+            output.writeInt(MAGIC);
+            output.writeLong(journalSize);
+            output.writeInt(accounts.size());
+            for (var account : accounts) {
+                writeUUID(output, account._1);
+                writeAccount(output, account._2);
+            }
+            output.writeLong(checksum.getValue());
+        }
+        Files.move(temporary, file, ATOMIC_MOVE, REPLACE_EXISTING);
+    }
+
+    private static Option<AccountsSnapshot> read(Path file) throws IOException {
+        var checksum = new CRC32();
+
+        try (var input = new DataInputStream(new CheckedInputStream(
+                new BufferedInputStream(Files.newInputStream(file)), checksum))) {
+            if (input.readInt() != MAGIC) return Option.none();
+
+            var journalSize = input.readLong();
+            var count = input.readInt();
+            var accounts = HashMap.<UUID, Account>empty();
+            for (var i = 0; i < count; i++) {
+                accounts = accounts.put(readUUID(input), readAccount(input));
+            }
+            var expected = checksum.getValue();
+            return input.readLong() == expected && input.read() == -1 ?
+                    Option.some(new AccountsSnapshot(journalSize, accounts))
+                    : Option.none();
+        }
+    }
+
+    private static void writeAccount(DataOutputStream output, Account account) throws IOException {
+        var history = account.history();
+        output.writeLong(account.balanceInCents());
+        output.writeBoolean(account.isOverdraftAuthorized());
+        output.writeLong(account.maxWithdrawalInCents());
+        output.writeInt(history.window());
+        output.writeInt(history.compactedCount());
+        output.writeLong(history.compactedCents());
+        writeWithdraws(output, history.recent());
+        writeWithdraws(output, history.applied().removeAll(history.recent()));
+        writeDailyTotals(output, history.dailyTotals());
+    }
+
+    private static Account readAccount(DataInputStream input) throws IOException {
+        var balance = input.readLong();
+        var isOverdraftAuthorized = input.readBoolean();
+        var maxWithdrawal = input.readLong();
+        var window = input.readInt();
+        var compactedCount = input.readInt();
+        var compactedCents = input.readLong();
+        var recent = readWithdraws(input);
+        var compacted = readWithdraws(input);
+
+        return new Account(balance, isOverdraftAuthorized, maxWithdrawal, new WithdrawHistory(
+                recent,
+                HashSet.ofAll(recent).addAll(compacted),
+                compactedCount,
+                compactedCents,
+                window,
+                readDailyTotals(input)));
+    }
+
+    private static void writeWithdraws(DataOutputStream output, Traversable<Withdraw> withdraws) throws IOException {
+        output.writeInt(withdraws.size());
+        for (var withdraw : withdraws) {
+            writeUUID(output, withdraw.clientId());
+            output.writeLong(withdraw.amount().cents());
+            output.writeLong(withdraw.requestDate().toEpochDay());
+        }
+    }
+
+    private static Vector<Withdraw> readWithdraws(DataInputStream input) throws IOException {
+        var count = input.readInt();
+        var withdraws = Vector.<Withdraw>empty();
+        for (var i = 0; i < count; i++) {
+            withdraws = withdraws.append(new Withdraw(
+                    readUUID(input),
+                    new Amount(input.readLong()),
+                    LocalDate.ofEpochDay(input.readLong())));
+        }
+        return withdraws;
+    }
+
+    private static void writeDailyTotals(DataOutputStream output, DailyTotals totals) throws IOException {
+        var byDay = totals.byDay();
+        output.writeInt(totals.keptDays());
+        output.writeLong(totals.foldedCents());
+        output.writeInt(byDay.size());
+        for (var day : byDay) {
+            output.writeLong(day._1);
+            output.writeLong(day._2);
+        }
+    }
+
+    private static DailyTotals readDailyTotals(DataInputStream input) throws IOException {
+        var keptDays = input.readInt();
+        var foldedCents = input.readLong();
+        var count = input.readInt();
+        var byDay = Vector.<Tuple2<Long, Long>>empty();
+        for (var i = 0; i < count; i++) {
+            byDay = byDay.append(Tuple.of(input.readLong(), input.readLong()));
+        }
+        return DailyTotals.of(keptDays, foldedCents, byDay);
+    }
+
+    private static void writeUUID(DataOutputStream output, UUID uuid) throws IOException {
+        output.writeLong(uuid.getMostSignificantBits());
+        output.writeLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID readUUID(DataInputStream input) throws IOException {
+        return new UUID(input.readLong(), input.readLong());
+    }
+}
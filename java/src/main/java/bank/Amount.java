@@ -5,12 +5,38 @@ import io.vavr.control.Option;
 import static io.vavr.control.Option.none;
 import static io.vavr.control.Option.some;
 
-public record Amount(double value) {
+/**
+ * Positive amount of money, held as an exact count of cents.
+ * <p>
+ * {@link #toCents(double)} and {@link #isValid(long)} let callers validate and compare on primitives
+ * without going through {@link Option}.
+ */
+public record Amount(long cents) {
     public Amount {
-        if (value < 0) throw new IllegalArgumentException("value must be a positive double");
+        if (cents < 0) throw new IllegalArgumentException("cents must be a positive long");
     }
 
     public static Option<Amount> from(double amount) {
-        return amount > 0 ? some(new Amount(amount)) : none();
+        return fromCents(toCents(amount));
     }
-}
\ No newline at end of file
+
+    public static Option<Amount> fromCents(long cents) {
+        return isValid(cents) ? some(new Amount(cents)) : none();
+    }
+
+    public static boolean isValid(long cents) {
+        return cents > 0;
+    }
+
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public static double toDouble(long cents) {
+        return cents / 100d;
+    }
+
+    public double value() {
+        return toDouble(cents);
+    }
+}
@@ -0,0 +1,8 @@
+package bank;
+
+import io.vavr.collection.Seq;
+
+public record BatchResult(
+        Account account,
+        Seq<WithdrawOutcome> outcomes) {
+}
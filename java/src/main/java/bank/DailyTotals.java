@@ -0,0 +1,188 @@
+package bank;
+
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+
+import java.time.LocalDate;
+
+/**
+ * Cents withdrawn per request day, in a persistent big-endian Patricia trie keyed by epoch day whose nodes hold the
+ * cents of their subtree (Okasaki and Gill, "Fast Mergeable Integer Maps"). Adding to a day walks one path of the trie
+ * and summing a range of days two, none deeper than the number of days held nor than the 40 bits of an epoch day:
+ * whatever the order withdraws come in, neither scans the days.
+ * <p>
+ * When {@code keptDays} is bounded, only the {@code keptDays} days ending with {@code lastDay}, the latest day added,
+ * are held: older days are folded into {@code foldedCents} and can no longer be queried, so that the totals stay
+ * bounded whatever the number of days withdraws are requested on. The totals only depend on the cents added per day,
+ * not on their order.
+ */
+public record DailyTotals(Node root, long lastDay, long foldedCents, int keptDays) {
+    public static final int EVERY_DAY = Integer.MAX_VALUE;
+    private static final long FIRST_DAY = LocalDate.MIN.toEpochDay();
+    private static final long NO_DAY = Long.MIN_VALUE;
+
+    sealed interface Node {
+        long cents();
+    }
+
+    record Empty() implements Node {
+        @Override
+        public long cents() {
+            return 0;
+        }
+    }
+
+    /**
+     * Cents of a day, keyed by its offset from {@link LocalDate#MIN} so that keys are positive and ordered as days.
+     */
+    record Leaf(long key, long cents) implements Node {
+    }
+
+    /**
+     * Keys sharing the bits of {@code prefix} above {@code mask}, split on the {@code mask} bit.
+     */
+    record Branch(long prefix, long mask, long cents, Node zero, Node one) implements Node {
+    }
+
+    public DailyTotals {
+        if (keptDays < 1) throw new IllegalArgumentException("keptDays must be a positive int");
+    }
+
+    public static DailyTotals keeping(int keptDays) {
+        return new DailyTotals(new Empty(), NO_DAY, 0, keptDays);
+    }
+
+    /**
+     * Totals holding the given cents by day, as listed by {@link #byDay()}, on top of {@code foldedCents}.
+     */
+    static DailyTotals of(int keptDays, long foldedCents, Iterable<Tuple2<Long, Long>> byDay) {
+        var totals = keeping(keptDays);
+        for (var day : byDay) {
+            totals = totals.add(day._1, day._2);
+        }
+        return new DailyTotals(totals.root, totals.lastDay, foldedCents, keptDays);
+    }
+
+    public DailyTotals add(long day, long cents) {
+        if (day < firstKeptDay()) return new DailyTotals(root, lastDay, foldedCents + cents, keptDays);
+
+        var added = new DailyTotals(insert(root, day - FIRST_DAY, cents), Math.max(lastDay, day), foldedCents, keptDays);
+        return day > lastDay ? added.fold() : added;
+    }
+
+    public DailyTotals addAll(Iterable<Withdraw> commands) {
+        var totals = this;
+        for (var command : commands) {
+            totals = totals.add(command.requestDate().toEpochDay(), command.amount().cents());
+        }
+        return totals;
+    }
+
+    /**
+     * Cents withdrawn on the {@code days} days ending with {@code lastDay}.
+     *
+     * @throws IllegalArgumentException when these days start before the first kept day
+     */
+    public long over(long lastDay, int days) {
+        if (days < 1) throw new IllegalArgumentException("days must be a positive int");
+
+        var firstDay = lastDay - days + 1;
+        if (firstDay < firstKeptDay())
+            throw new IllegalArgumentException("Only the last " + keptDays + " days are kept, from epoch day " + firstKeptDay());
+        return sumBelow(root, lastDay + 1 - FIRST_DAY) - sumBelow(root, firstDay - FIRST_DAY);
+    }
+
+    /**
+     * Cents withdrawn on the {@code days} days ending with {@code lastDay} when they are all kept, otherwise the cents
+     * of the kept ones plus every folded cent: never less than the cents actually withdrawn on these days.
+     */
+    public long atMost(long lastDay, int days) {
+        if (days < 1) throw new IllegalArgumentException("days must be a positive int");
+
+        var firstDay = lastDay - days + 1;
+        var firstKeptDay = firstKeptDay();
+        if (firstDay >= firstKeptDay) return over(lastDay, days);
+        if (lastDay < firstKeptDay) return foldedCents;
+        return foldedCents + sumBelow(root, lastDay + 1 - FIRST_DAY) - sumBelow(root, firstKeptDay - FIRST_DAY);
+    }
+
+    /**
+     * First day that can be queried: the days before it are folded.
+     */
+    public long firstKeptDay() {
+        return keptDays == EVERY_DAY || lastDay == NO_DAY ? Long.MIN_VALUE : lastDay - keptDays + 1;
+    }
+
+    /**
+     * Epoch days held with their cents, by increasing day.
+     */
+    public List<Tuple2<Long, Long>> byDay() {
+        return byDay(root, List.empty());
+    }
+
+    private DailyTotals fold() {
+        if (keptDays == EVERY_DAY) return this;
+
+        var kept = removeBelow(root, firstKeptDay() - FIRST_DAY);
+        return kept == root ? this : new DailyTotals(kept, lastDay, foldedCents + root.cents() - kept.cents(), keptDays);
+    }
+
+    private static Node insert(Node node, long key, long cents) {
+        if (node instanceof Leaf leaf) {
+            return leaf.key == key ? new Leaf(key, leaf.cents + cents) : join(key, new Leaf(key, cents), leaf.key, leaf);
+        }
+        if (node instanceof Branch branch) {
+            if (!matches(key, branch)) return join(key, new Leaf(key, cents), branch.prefix, branch);
+            return (key & branch.mask) == 0 ?
+                    new Branch(branch.prefix, branch.mask, branch.cents + cents, insert(branch.zero, key, cents), branch.one)
+                    : new Branch(branch.prefix, branch.mask, branch.cents + cents, branch.zero, insert(branch.one, key, cents));
+        }
+        return new Leaf(key, cents);
+    }
+
+    private static long sumBelow(Node node, long key) {
+        if (node instanceof Leaf leaf) {
+            return leaf.key < key ? leaf.cents : 0;
+        }
+        if (node instanceof Branch branch) {
+            if (!matches(key, branch)) return key < branch.prefix ? 0 : branch.cents;
+            return (key & branch.mask) == 0 ? sumBelow(branch.zero, key) : branch.zero.cents() + sumBelow(branch.one, key);
+        }
+        return 0;
+    }
+
+    private static Node removeBelow(Node node, long key) {
+        if (node instanceof Leaf leaf) {
+            return leaf.key < key ? new Empty() : leaf;
+        }
+        if (node instanceof Branch branch) {
+            if (!matches(key, branch)) return key < branch.prefix ? branch : new Empty();
+            if ((key & branch.mask) != 0) return removeBelow(branch.one, key);
+
+            var zero = removeBelow(branch.zero, key);
+            return zero == branch.zero ? branch
+                    : zero instanceof Empty ? branch.one
+                    : new Branch(branch.prefix, branch.mask, zero.cents() + branch.one.cents(), zero, branch.one);
+        }
+        return node;
+    }
+
+    private static List<Tuple2<Long, Long>> byDay(Node node, List<Tuple2<Long, Long>> after) {
+        if (node instanceof Leaf leaf) return after.prepend(Tuple.of(leaf.key + FIRST_DAY, leaf.cents));
+        if (node instanceof Branch branch) return byDay(branch.zero, byDay(branch.one, after));
+        return after;
+    }
+
+    private static boolean matches(long key, Branch branch) {
+        return (key & -(branch.mask << 1)) == branch.prefix;
+    }
+
+    private static Branch join(long key, Node node, long otherKey, Node other) {
+        var mask = Long.highestOneBit(key ^ otherKey);
+        var prefix = key & -(mask << 1);
+        return (key & mask) == 0 ?
+                new Branch(prefix, mask, node.cents() + other.cents(), node, other)
+                : new Branch(prefix, mask, node.cents() + other.cents(), other, node);
+    }
+}
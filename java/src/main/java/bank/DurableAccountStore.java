@@ -0,0 +1,131 @@
+package bank;
+
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.UUID;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * {@link AccountStore} surviving restarts.
+ * <p>
+ * Opened accounts and applied withdraws are appended to a {@link WithdrawJournal}, and an {@link AccountsSnapshot}
+ * is taken every {@code snapshotInterval} journal records.
+ * Recovery loads the snapshot then only replays the journal records written after it.
+ */
+public class DurableAccountStore implements AutoCloseable {
+    private static final String JOURNAL = "withdraws.journal";
+    private static final String SNAPSHOT = "accounts.snapshot";
+
+    private final Path directory;
+    private final WithdrawJournal journal;
+    private final AccountStore store;
+    private final long snapshotInterval;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile long snapshotSize;
+
+    private DurableAccountStore(Path directory, WithdrawJournal journal, java.util.Map<UUID, Account> accounts,
+                                long snapshotSize, long snapshotInterval) {
+        this.directory = directory;
+        this.journal = journal;
+        this.store = new AccountStore(journal::withdrawn);
+        this.snapshotSize = snapshotSize;
+        this.snapshotInterval = snapshotInterval;
+        accounts.forEach(store::open);
+    }
+
+    public static DurableAccountStore recover(Path directory) throws IOException {
+        return recover(directory, Long.MAX_VALUE);
+    }
+
+    public static DurableAccountStore recover(Path directory, long snapshotInterval) throws IOException {
+        if (snapshotInterval <= 0) throw new IllegalArgumentException("snapshotInterval must be a positive long");
+
+        var journal = WithdrawJournal.open(directory.resolve(JOURNAL));
+        var snapshot = AccountsSnapshot.readFrom(directory.resolve(SNAPSHOT))
+                .filter(s -> s.journalSize() <= journal.size());
+        var accounts = new HashMap<>(snapshot.map(s -> s.accounts().toJavaMap()).getOrElse(HashMap::new));
+        var from = snapshot.map(AccountsSnapshot::journalSize).getOrElse(0L);
+
+        journal.replay(from, new WithdrawJournal.Visitor() {
+            @Override
+            public void opened(UUID accountId, Account account) {
+                accounts.put(accountId, account);
+            }
+
+            @Override
+            public void withdrawn(UUID accountId, Withdraw command) {
+                accounts.computeIfPresent(accountId, (id, account) ->
+                        account.hasAlreadyApplied(command) ? account : account.withdraw(command));
+            }
+        });
+        return new DurableAccountStore(directory, journal, accounts, from, snapshotInterval);
+    }
+
+    public void open(UUID accountId, Account account) {
+        lock.writeLock().lock();
+        try {
+            if (store.find(accountId).isDefined())
+                throw new IllegalArgumentException("Account " + accountId + " already exists");
+            journal.opened(accountId, account);
+            store.open(accountId, account);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public Option<Account> find(UUID accountId) {
+        return store.find(accountId);
+    }
+
+    public Either<WithdrawRejection, Account> withdraw(UUID accountId, Withdraw command) {
+        Either<WithdrawRejection, Account> result;
+        lock.readLock().lock();
+        try {
+            result = store.withdraw(accountId, command);
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (isSnapshotDue()) snapshot();
+        return result;
+    }
+
+    public void snapshot() {
+        lock.writeLock().lock();
+        try {
+            if (snapshotSize < journal.size()) takeSnapshot();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isSnapshotDue() {
+        return journal.size() - snapshotSize >= snapshotInterval;
+    }
+
+    private void takeSnapshot() {
+        try {
+            journal.force();
+            var snapshot = new AccountsSnapshot(journal.size(), store.accounts());
+            snapshot.writeTo(directory.resolve(SNAPSHOT));
+            snapshotSize = snapshot.journalSize();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            journal.close();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
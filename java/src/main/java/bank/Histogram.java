@@ -0,0 +1,68 @@
+package bank;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention-free histogram of positive longs with power-of-two buckets:
+ * bucket 0 counts values <= 0 and bucket {@code i} values in [2^(i-1), 2^i).
+ * Every bucket is a {@link LongAdder}, so concurrent recordings never fight over the same cell.
+ */
+public class Histogram {
+    private static final int BUCKETS = Long.SIZE + 1;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+
+    public Histogram() {
+        for (var i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long value) {
+        buckets[bucketOf(value)].increment();
+        sum.add(value);
+    }
+
+    public Snapshot snapshot() {
+        var counts = new long[BUCKETS];
+        for (var i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return new Snapshot(counts, sum.sum());
+    }
+
+    static int bucketOf(long value) {
+        return value <= 0 ? 0 : Long.SIZE - Long.numberOfLeadingZeros(value);
+    }
+
+    public record Snapshot(long[] counts, long sum) {
+        public long count() {
+            var count = 0L;
+            for (var bucket : counts) count += bucket;
+            return count;
+        }
+
+        public double mean() {
+            var count = count();
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile (between 0 and 1).
+         */
+        public long percentile(double percentile) {
+            var rank = (long) Math.ceil(percentile * count());
+            var seen = 0L;
+            for (var i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank && seen > 0) return upperBoundOf(i);
+            }
+            return 0;
+        }
+
+        private static long upperBoundOf(int bucket) {
+            return bucket == 0 ? 0 : bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : (1L << bucket) - 1;
+        }
+    }
+}
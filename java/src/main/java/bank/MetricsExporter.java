@@ -0,0 +1,9 @@
+package bank;
+
+@FunctionalInterface
+public interface MetricsExporter {
+    MetricsExporter NO_OP = snapshot -> {
+    };
+
+    void export(WithdrawMetrics.Snapshot snapshot);
+}
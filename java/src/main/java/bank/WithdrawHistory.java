@@ -0,0 +1,130 @@
+package bank;
+
+import io.vavr.collection.HashSet;
+import io.vavr.collection.Seq;
+import io.vavr.collection.Set;
+import io.vavr.collection.Vector;
+
+import java.time.LocalDate;
+
+/**
+ * Withdraws applied on an {@link Account}.
+ * <p>
+ * Appends go to a {@link Vector} so they stay cheap whatever the length of the history.
+ * A compacting history only keeps its {@code window} most recent withdraws in full:
+ * older ones are folded into a snapshot (count and withdrawn cents) while their
+ * dedup keys are kept in {@code applied} so idempotency stays exact.
+ * <p>
+ * Cents withdrawn are also summed by request date in {@code dailyTotals}, updated on each append and kept through
+ * compaction, so that cumulative limits never scan the history. A compacting history can also bound the days summed
+ * to the longest limit it is checked against, see {@link #compacting(int, int)}.
+ */
+public record WithdrawHistory(
+        Vector<Withdraw> recent,
+        Set<Withdraw> applied,
+        int compactedCount,
+        long compactedCents,
+        int window,
+        DailyTotals dailyTotals) {
+    private static final int UNBOUNDED = Integer.MAX_VALUE;
+
+    public WithdrawHistory {
+        if (window < 0) throw new IllegalArgumentException("window must be a positive int");
+    }
+
+    public static WithdrawHistory empty() {
+        return of(Vector.empty());
+    }
+
+    public static WithdrawHistory of(Seq<Withdraw> withdraws) {
+        return new WithdrawHistory(Vector.ofAll(withdraws), HashSet.ofAll(withdraws), 0, 0, UNBOUNDED,
+                DailyTotals.keeping(DailyTotals.EVERY_DAY).addAll(withdraws));
+    }
+
+    public static WithdrawHistory compacting(int window) {
+        return empty().compact(window);
+    }
+
+    /**
+     * Compacting history summing the cents withdrawn over the last {@code keptDays} days only: enough for limits over
+     * at most {@code keptDays} days, and bounded whatever the number of days withdraws are requested on.
+     */
+    public static WithdrawHistory compacting(int window, int keptDays) {
+        return new WithdrawHistory(Vector.empty(), HashSet.empty(), 0, 0, UNBOUNDED, DailyTotals.keeping(keptDays))
+                .compact(window);
+    }
+
+    public WithdrawHistory append(Withdraw command) {
+        var appended = new WithdrawHistory(recent.append(command),
+                applied.add(command),
+                compactedCount,
+                compactedCents,
+                window,
+                dailyTotals.add(command.requestDate().toEpochDay(), command.amount().cents()));
+        return appended.recent.size() > window ? appended.compact(window) : appended;
+    }
+
+    public WithdrawHistory appendAll(Iterable<Withdraw> commands) {
+        var appended = new WithdrawHistory(recent.appendAll(commands),
+                applied.addAll(commands),
+                compactedCount,
+                compactedCents,
+                window,
+                dailyTotals.addAll(commands));
+        return appended.recent.size() > window ? appended.compact(window) : appended;
+    }
+
+    public WithdrawHistory compact(int window) {
+        if (window == this.window && recent.size() <= window) return this;
+
+        var dropped = Math.max(recent.size() - window, 0);
+        var cents = compactedCents;
+        var folded = recent.iterator();
+
+        for (var i = 0; i < dropped; i++) {
+            cents += folded.next().amount().cents();
+        }
+        return new WithdrawHistory(recent.drop(dropped), applied, compactedCount + dropped, cents, window, dailyTotals);
+    }
+
+    /**
+     * Cents withdrawn by the commands requested on the given day.
+     */
+    public long withdrawnOn(LocalDate day) {
+        return withdrawnOver(day, 1);
+    }
+
+    /**
+     * Cents withdrawn by the commands requested on the {@code days} days ending with {@code lastDay}, in logarithmic
+     * time of the number of days with withdraws.
+     *
+     * @throws IllegalArgumentException when these days start before the kept ones
+     */
+    public long withdrawnOver(LocalDate lastDay, int days) {
+        return dailyTotals.over(lastDay.toEpochDay(), days);
+    }
+
+    /**
+     * {@link #withdrawnOver(LocalDate, int)} when these days are kept, otherwise an upper bound counting every cent
+     * withdrawn on the folded days.
+     */
+    public long withdrawnAtMostOver(LocalDate lastDay, int days) {
+        return dailyTotals.atMost(lastDay.toEpochDay(), days);
+    }
+
+    public boolean contains(Withdraw command) {
+        return applied.contains(command);
+    }
+
+    public Seq<Withdraw> withdraws() {
+        return recent;
+    }
+
+    public int size() {
+        return compactedCount + recent.size();
+    }
+
+    public boolean isCompacting() {
+        return window != UNBOUNDED;
+    }
+}
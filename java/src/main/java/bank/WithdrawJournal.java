@@ -0,0 +1,190 @@
+package bank;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.zip.CRC32;
+
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.*;
+
+/**
+ * Append-only journal of opened accounts and applied withdraws, memory-mapped window by window.
+ * <p>
+ * Every entry is a fixed-size record:
+ * <pre>
+ * offset size field
+ *      0    4 CRC32 of bytes [4, 56)
+ *      4    4 type: 1 = account opened, 2 = withdraw applied
+ *      8   16 account id
+ *     24   32 opened: balance (cents), max withdrawal (cents), overdraft (0 / 1),
+ *                     history kept days (int, 0 for every day), history window (int)
+ *             withdraw: client id, amount (cents), request date (epoch day)
+ * </pre>
+ * Opened records journaled before the kept days held the history window as a long: they read as keeping every day.
+ * Opening a journal scans it up to the first empty or torn record: appends resume from there.
+ */
+public class WithdrawJournal implements AutoCloseable {
+    public static final int RECORD_SIZE = 56;
+    private static final int CHECKED_SIZE = RECORD_SIZE - Integer.BYTES;
+    private static final int OPENED = 1, WITHDRAWN = 2;
+    private static final int DEFAULT_RECORDS_PER_WINDOW = 1 << 16;
+
+    private final FileChannel channel;
+    private final int recordsPerWindow;
+    private final CRC32 crc = new CRC32();
+    private final byte[] checked = new byte[CHECKED_SIZE];
+    private MappedByteBuffer window;
+    private long windowIndex = -1;
+    private long size;
+
+    public interface Visitor {
+        void opened(UUID accountId, Account account);
+
+        void withdrawn(UUID accountId, Withdraw command);
+    }
+
+    private WithdrawJournal(FileChannel channel, int recordsPerWindow) {
+        this.channel = channel;
+        this.recordsPerWindow = recordsPerWindow;
+    }
+
+    public static WithdrawJournal open(Path file) throws IOException {
+        return open(file, DEFAULT_RECORDS_PER_WINDOW);
+    }
+
+    public static WithdrawJournal open(Path file, int recordsPerWindow) throws IOException {
+        if (recordsPerWindow <= 0 || recordsPerWindow > Integer.MAX_VALUE / RECORD_SIZE)
+            throw new IllegalArgumentException("recordsPerWindow must be a positive int fitting a mapped window");
+
+        var journal = new WithdrawJournal(FileChannel.open(file, CREATE, READ, WRITE), recordsPerWindow);
+        journal.size = journal.scan();
+        return journal;
+    }
+
+    /**
+     * Number of valid records, which is also the index of the next one.
+     */
+    public synchronized long size() {
+        return size;
+    }
+
+    public synchronized long opened(UUID accountId, Account account) {
+        if (account.history().size() > 0)
+            throw new IllegalArgumentException("Only accounts without history can be journaled");
+
+        var offset = positionOn(size);
+        window.putInt(offset + 4, OPENED);
+        putUUID(offset + 8, accountId);
+        window.putLong(offset + 24, account.balanceInCents());
+        window.putLong(offset + 32, account.maxWithdrawalInCents());
+        window.putLong(offset + 40, account.isOverdraftAuthorized() ? 1 : 0);
+        var keptDays = account.history().dailyTotals().keptDays();
+        window.putInt(offset + 48, keptDays == DailyTotals.EVERY_DAY ? 0 : keptDays);
+        window.putInt(offset + 52, account.history().window());
+        return seal(offset);
+    }
+
+    public synchronized long withdrawn(UUID accountId, Withdraw command) {
+        var offset = positionOn(size);
+        window.putInt(offset + 4, WITHDRAWN);
+        putUUID(offset + 8, accountId);
+        putUUID(offset + 24, command.clientId());
+        window.putLong(offset + 40, command.amount().cents());
+        window.putLong(offset + 48, command.requestDate().toEpochDay());
+        return seal(offset);
+    }
+
+    public synchronized void replay(long from, Visitor visitor) {
+        for (var index = from; index < size; index++) {
+            var offset = positionOn(index);
+            var accountId = getUUID(offset + 8);
+
+            if (window.getInt(offset + 4) == OPENED) {
+                visitor.opened(accountId, new Account(
+                        window.getLong(offset + 24),
+                        window.getLong(offset + 40) == 1,
+                        window.getLong(offset + 32),
+                        historyOf(window.getInt(offset + 48), window.getInt(offset + 52))));
+            } else {
+                visitor.withdrawn(accountId, new Withdraw(
+                        getUUID(offset + 24),
+                        new Amount(window.getLong(offset + 40)),
+                        LocalDate.ofEpochDay(window.getLong(offset + 48))));
+            }
+        }
+    }
+
+    public synchronized void force() {
+        if (window != null) window.force();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static WithdrawHistory historyOf(int keptDays, int historyWindow) {
+        return WithdrawHistory.compacting(historyWindow, keptDays == 0 ? DailyTotals.EVERY_DAY : keptDays);
+    }
+
+    private long scan() throws IOException {
+        var records = channel.size() / RECORD_SIZE;
+        var index = 0L;
+
+        while (index < records && isValid(positionOn(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private boolean isValid(int offset) {
+        var type = window.getInt(offset + 4);
+        return (type == OPENED || type == WITHDRAWN) && window.getInt(offset) == checksum(offset);
+    }
+
+    private long seal(int offset) {
+        window.putInt(offset, checksum(offset));
+        return size++;
+    }
+
+    private int checksum(int offset) {
+        window.get(offset + 4, checked);
+        crc.reset();
+        crc.update(checked);
+        return (int) crc.getValue();
+    }
+
+    private int positionOn(long index) {
+        var windowOfIndex = index / recordsPerWindow;
+        if (windowOfIndex != windowIndex) {
+            map(windowOfIndex);
+        }
+        return (int) (index % recordsPerWindow) * RECORD_SIZE;
+    }
+
+    private void map(long windowOfIndex) {
+        try {
+            force();
+            var windowSize = (long) recordsPerWindow * RECORD_SIZE;
+            window = channel.map(READ_WRITE, windowOfIndex * windowSize, windowSize);
+            windowIndex = windowOfIndex;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void putUUID(int offset, UUID uuid) {
+        window.putLong(offset, uuid.getMostSignificantBits());
+        window.putLong(offset + 8, uuid.getLeastSignificantBits());
+    }
+
+    private UUID getUUID(int offset) {
+        return new UUID(window.getLong(offset), window.getLong(offset + 8));
+    }
+}
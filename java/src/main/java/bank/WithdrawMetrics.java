@@ -0,0 +1,77 @@
+package bank;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link WithdrawRecorder} counting withdraws per outcome, with latency and history length distributions.
+ * <p>
+ * Recording only touches {@link LongAdder}s. Reading the clock costs more than counting,
+ * so only one withdraw out of {@code samplingRate} (picked at random) feeds the distributions.
+ * {@link #export()} hands a {@link Snapshot} to the {@link MetricsExporter}.
+ */
+public class WithdrawMetrics implements WithdrawRecorder {
+    private static final int DEFAULT_SAMPLING_RATE = 64;
+
+    private final LongAdder[] outcomes = new LongAdder[Outcome.values().length];
+    private final Histogram latencies = new Histogram();
+    private final Histogram historyLengths = new Histogram();
+    private final MetricsExporter exporter;
+    private final int samplingMask;
+
+    public record Snapshot(
+            Map<Outcome, Long> outcomes,
+            Histogram.Snapshot latenciesInNanos,
+            Histogram.Snapshot historyLengths) {
+    }
+
+    public WithdrawMetrics() {
+        this(MetricsExporter.NO_OP);
+    }
+
+    public WithdrawMetrics(MetricsExporter exporter) {
+        this(exporter, DEFAULT_SAMPLING_RATE);
+    }
+
+    public WithdrawMetrics(MetricsExporter exporter, int samplingRate) {
+        if (samplingRate <= 0 || Integer.bitCount(samplingRate) != 1)
+            throw new IllegalArgumentException("samplingRate must be a positive power of two");
+
+        this.exporter = exporter;
+        this.samplingMask = samplingRate - 1;
+        for (var i = 0; i < outcomes.length; i++) {
+            outcomes[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public boolean sample() {
+        return (ThreadLocalRandom.current().nextInt() & samplingMask) == 0;
+    }
+
+    @Override
+    public void count(Outcome outcome) {
+        outcomes[outcome.ordinal()].increment();
+    }
+
+    @Override
+    public void record(Outcome outcome, long latencyInNanos, int historyLength) {
+        count(outcome);
+        latencies.record(latencyInNanos);
+        historyLengths.record(historyLength);
+    }
+
+    public Snapshot snapshot() {
+        var counts = new EnumMap<Outcome, Long>(Outcome.class);
+        for (var outcome : Outcome.values()) {
+            counts.put(outcome, outcomes[outcome.ordinal()].sum());
+        }
+        return new Snapshot(counts, latencies.snapshot(), historyLengths.snapshot());
+    }
+
+    public void export() {
+        exporter.export(snapshot());
+    }
+}
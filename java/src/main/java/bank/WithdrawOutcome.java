@@ -0,0 +1,25 @@
+package bank;
+
+import io.vavr.control.Either;
+
+import static io.vavr.control.Either.left;
+import static io.vavr.control.Either.right;
+
+public sealed interface WithdrawOutcome {
+    Withdraw command();
+
+    default Either<String, Withdraw> toEither() {
+        return this instanceof Rejected rejected ?
+                left(rejected.rejection().message())
+                : right(command());
+    }
+
+    record Applied(Withdraw command) implements WithdrawOutcome {
+    }
+
+    record AlreadyApplied(Withdraw command) implements WithdrawOutcome {
+    }
+
+    record Rejected(Withdraw command, WithdrawRejection rejection) implements WithdrawOutcome {
+    }
+}
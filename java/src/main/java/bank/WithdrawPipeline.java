@@ -0,0 +1,206 @@
+package bank;
+
+import bank.WithdrawOutcome.Rejected;
+import bank.WithdrawRejection.UnknownAccount;
+import io.vavr.collection.Vector;
+import io.vavr.control.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Asynchronous entry to an {@link AccountStore}: withdraws are queued per account and drained on an {@link Executor}
+ * in micro-batches, each applied in one pass by {@link AccountStore#withdrawAll(UUID, Iterable)}. Every caller gets
+ * the outcome of its own command.
+ * <p>
+ * At most one drain runs per account, so the commands of an account are applied in submission order, and a drain
+ * takes at most {@code maxBatch} commands before giving the executor back to the other accounts.
+ * A full account queue pushes back on the callers: {@link #submit(UUID, Withdraw)} waits for room,
+ * {@link #trySubmit(UUID, Withdraw)} gives up.
+ * <p>
+ * Queues only live while they hold commands: a drained queue with no caller on its way retires, and the next
+ * command of its account gets a new one. Withdraws on an unknown account are rejected without a queue, and
+ * commands the executor refuses to drain complete exceptionally with its {@link RejectedExecutionException}.
+ */
+public class WithdrawPipeline {
+    public static final int DEFAULT_QUEUE_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BATCH = 64;
+
+    private final AccountStore store;
+    private final Executor executor;
+    private final int queueCapacity;
+    private final int maxBatch;
+    private final ConcurrentHashMap<UUID, AccountQueue> queues = new ConcurrentHashMap<>();
+
+    public WithdrawPipeline(AccountStore store, Executor executor) {
+        this(store, executor, DEFAULT_QUEUE_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    public WithdrawPipeline(AccountStore store, Executor executor, int queueCapacity, int maxBatch) {
+        if (queueCapacity < 1 || maxBatch < 1)
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        this.store = store;
+        this.executor = executor;
+        this.queueCapacity = queueCapacity;
+        this.maxBatch = maxBatch;
+    }
+
+    /**
+     * Queues the command, waiting while the queue of the account is full.
+     */
+    public CompletableFuture<WithdrawOutcome> submit(UUID accountId, Withdraw command) throws InterruptedException {
+        if (store.find(accountId).isEmpty()) return unknownAccount(accountId, command);
+
+        var queue = enter(accountId);
+        var pending = new Pending(command, new CompletableFuture<>());
+        try {
+            queue.commands.put(pending);
+        } catch (InterruptedException e) {
+            queue.leave(1);
+            throw e;
+        }
+        queue.schedule();
+        return pending.outcome;
+    }
+
+    /**
+     * Queues the command unless the queue of the account is full.
+     */
+    public Option<CompletableFuture<WithdrawOutcome>> trySubmit(UUID accountId, Withdraw command) {
+        if (store.find(accountId).isEmpty()) return Option.some(unknownAccount(accountId, command));
+
+        var queue = enter(accountId);
+        var pending = new Pending(command, new CompletableFuture<>());
+        if (!queue.commands.offer(pending)) {
+            queue.leave(1);
+            return Option.none();
+        }
+        queue.schedule();
+        return Option.some(pending.outcome);
+    }
+
+    /**
+     * Number of accounts with a live queue.
+     */
+    public int queues() {
+        return queues.size();
+    }
+
+    /**
+     * Live queue of the account, counting the caller in until its command completes.
+     */
+    private AccountQueue enter(UUID accountId) {
+        while (true) {
+            var queue = queues.computeIfAbsent(accountId, AccountQueue::new);
+            if (queue.enter()) return queue;
+            // Retired but not removed yet
+            queues.remove(accountId, queue);
+        }
+    }
+
+    private static CompletableFuture<WithdrawOutcome> unknownAccount(UUID accountId, Withdraw command) {
+        return CompletableFuture.completedFuture(new Rejected(command, new UnknownAccount(accountId)));
+    }
+
+    private record Pending(Withdraw command, CompletableFuture<WithdrawOutcome> outcome) {
+    }
+
+    private final class AccountQueue implements Runnable {
+        private static final int RETIRED = -1;
+
+        private final UUID accountId;
+        private final BlockingQueue<Pending> commands = new LinkedBlockingQueue<>(queueCapacity);
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        /**
+         * Commands submitted and not completed yet, {@link #RETIRED} once the queue has been given up.
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private AccountQueue(UUID accountId) {
+            this.accountId = accountId;
+        }
+
+        boolean enter() {
+            while (true) {
+                var current = pending.get();
+                if (current == RETIRED) return false;
+                if (pending.compareAndSet(current, current + 1)) return true;
+            }
+        }
+
+        void leave(int completed) {
+            pending.addAndGet(-completed);
+        }
+
+        /**
+         * Starts a drain unless one is running. A drain checks the queue again once done,
+         * so a command queued meanwhile is never left behind.
+         */
+        void schedule() {
+            if (!commands.isEmpty() && scheduled.compareAndSet(false, true)) {
+                try {
+                    executor.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                    fail(e);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            var batch = new ArrayList<Pending>(Math.min(maxBatch, commands.size()));
+            commands.drainTo(batch, maxBatch);
+            try {
+                apply(batch);
+            } finally {
+                scheduled.set(false);
+                if (!retireIfIdle()) schedule();
+            }
+        }
+
+        /**
+         * Gives the queue up when no command is queued nor on its way: a caller entering meanwhile makes it fail.
+         */
+        private boolean retireIfIdle() {
+            if (!pending.compareAndSet(0, RETIRED)) return false;
+            queues.remove(accountId, this);
+            return true;
+        }
+
+        private void fail(RejectedExecutionException rejection) {
+            var failed = new ArrayList<Pending>();
+            commands.drainTo(failed);
+            failed.forEach(pending -> pending.outcome.completeExceptionally(rejection));
+            leave(failed.size());
+            retireIfIdle();
+        }
+
+        private void apply(List<Pending> batch) {
+            if (batch.isEmpty()) return;
+            try {
+                var result = store.withdrawAll(accountId, Vector.ofAll(batch).map(Pending::command));
+                for (var i = 0; i < batch.size(); i++) {
+                    var pending = batch.get(i);
+                    pending.outcome.complete(result.isLeft()
+                            ? new Rejected(pending.command, result.getLeft())
+                            : result.get().outcomes().get(i));
+                }
+            } catch (RuntimeException | Error e) {
+                batch.forEach(pending -> pending.outcome.completeExceptionally(e));
+                throw e;
+            } finally {
+                leave(batch.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package bank;
+
+/**
+ * Called by {@link AccountService} and {@link AccountStore} once per withdraw, batched ones included, when set
+ * with {@link AccountService#record(WithdrawRecorder)}.
+ * Only the withdraws for which {@link #sample()} answers true are timed, the others are just counted.
+ */
+public interface WithdrawRecorder {
+    WithdrawRecorder NO_OP = new WithdrawRecorder() {
+        @Override
+        public boolean sample() {
+            return false;
+        }
+
+        @Override
+        public void count(Outcome outcome) {
+        }
+
+        @Override
+        public void record(Outcome outcome, long latencyInNanos, int historyLength) {
+        }
+    };
+
+    enum Outcome {ACCEPTED, DUPLICATE, LIMIT_EXCEEDED, INSUFFICIENT_BALANCE}
+
+    boolean sample();
+
+    void count(Outcome outcome);
+
+    void record(Outcome outcome, long latencyInNanos, int historyLength);
+}
@@ -0,0 +1,32 @@
+package bank;
+
+import java.util.UUID;
+
+/**
+ * Why a withdraw has been rejected.
+ * Rejections only keep the values they are about: their {@link #message()} is rendered on demand.
+ */
+public sealed interface WithdrawRejection {
+    String message();
+
+    record LimitExceeded(long maxWithdrawalInCents) implements WithdrawRejection {
+        @Override
+        public String message() {
+            return "Amount exceeding your limit of " + Amount.toDouble(maxWithdrawalInCents);
+        }
+    }
+
+    record InsufficientBalance(long amountInCents) implements WithdrawRejection {
+        @Override
+        public String message() {
+            return "Insufficient balance to withdraw : " + Amount.toDouble(amountInCents);
+        }
+    }
+
+    record UnknownAccount(UUID accountId) implements WithdrawRejection {
+        @Override
+        public String message() {
+            return "Unknown account " + accountId;
+        }
+    }
+}
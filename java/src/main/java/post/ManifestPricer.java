@@ -0,0 +1,344 @@
+package post;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.file.StandardOpenOption.*;
+import static post.PostalParcelService.validityMaskLength;
+
+/**
+ * Prices a manifest of parcel weights file to file, in chunks priced in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * Manifests are either {@link Format#BINARY} little-endian doubles or {@link Format#CSV} with one weight per line.
+ * Chunks of the manifest and of the costs file are memory-mapped: weights are read from the mapped manifest,
+ * priced into an array per chunk, then bulk copied into the mapped costs file, without streams nor any object per
+ * parcel but for the CSV weights spelled in a way {@link #parseWeight(ByteBuffer, int, int)} leaves to
+ * {@link Double#parseDouble(String)}. The costs file holds one little-endian double per parcel, NaN for an invalid
+ * weight, and the indices of the invalid parcels are written in ascending order as little-endian longs to their
+ * own file.
+ * <p>
+ * A chunk holds at most {@code chunkParcels} parcels, and a CSV chunk at most about {@value #MAX_CSV_CHUNK_BYTES}
+ * bytes, cut after a line feed.
+ */
+public final class ManifestPricer {
+    public static final int DEFAULT_CHUNK_PARCELS = 1 << 20;
+    static final long MAX_CSV_CHUNK_BYTES = 1 << 30;
+
+    private static final int MAX_FAST_DIGITS = 15;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+    public enum Format {
+        BINARY,
+        /**
+         * One weight per line ({@code \n} or {@code \r\n}), a blank or unparseable line being an invalid weight.
+         */
+        CSV
+    }
+
+    public record Report(long parcels, long invalidParcels) {
+    }
+
+    private final ForkJoinPool pool;
+    private final Tariff tariff;
+    private final int chunkParcels;
+
+    /**
+     * Pricer using the {@link PostalParcelService#tariff() service tariff} at the time each manifest is priced.
+     */
+    public ManifestPricer(ForkJoinPool pool) {
+        this(pool, null, DEFAULT_CHUNK_PARCELS);
+    }
+
+    public ManifestPricer(ForkJoinPool pool, Tariff tariff, int chunkParcels) {
+        if (chunkParcels < 1 || chunkParcels > Integer.MAX_VALUE / Double.BYTES) {
+            throw new IllegalArgumentException("Chunks must hold from 1 to 2^28 parcels : " + chunkParcels);
+        }
+        this.pool = pool;
+        this.tariff = tariff;
+        this.chunkParcels = chunkParcels;
+    }
+
+    /**
+     * @throws IOException as well when a binary manifest is not made of whole doubles, or a CSV line is longer
+     *                     than {@link Integer#MAX_VALUE} bytes
+     */
+    public Report price(Path manifest, Format format, Path costs, Path invalidParcels) throws IOException {
+        var pricing = tariff != null ? tariff : PostalParcelService.tariff();
+        var size = Files.size(manifest);
+        if (format == Format.BINARY && size % Double.BYTES != 0) {
+            throw new IOException("Binary manifest of " + size + " bytes is not made of whole doubles : " + manifest);
+        }
+        try (var input = FileChannel.open(manifest, READ);
+             var output = FileChannel.open(costs, CREATE, TRUNCATE_EXISTING, READ, WRITE);
+             var invalid = FileChannel.open(invalidParcels, CREATE, TRUNCATE_EXISTING, WRITE)) {
+            var chunks = format == Format.BINARY ? binaryChunks(input) : csvChunks(input);
+            var parcels = chunks.isEmpty() ? 0 : chunks.get(chunks.size() - 1).end();
+            if (parcels > 0) {
+                output.write(ByteBuffer.allocate(1), parcels * Double.BYTES - 1);
+            }
+
+            var tasks = new ArrayList<ForkJoinTask<long[]>>(chunks.size());
+            for (var chunk : chunks) {
+                tasks.add(pool.submit(() -> chunk.price(input, output, format, pricing)));
+            }
+            var invalidCount = 0L;
+            for (var task : tasks) {
+                invalidCount += writeIndices(invalid, join(task));
+            }
+            return new Report(parcels, invalidCount);
+        }
+    }
+
+    private ArrayList<Chunk> binaryChunks(FileChannel input) throws IOException {
+        var parcels = input.size() / Double.BYTES;
+        var chunks = new ArrayList<Chunk>();
+        for (var start = 0L; start < parcels; start += chunkParcels) {
+            var end = Math.min(parcels, start + chunkParcels);
+            chunks.add(new Chunk(start * Double.BYTES, end * Double.BYTES, start, end));
+        }
+        return chunks;
+    }
+
+    /**
+     * Cuts the manifest after a line feed every {@code chunkParcels * 8} bytes or so, up to
+     * {@value #MAX_CSV_CHUNK_BYTES}, then counts the lines of each piece in parallel, cutting it again every
+     * {@code chunkParcels} lines, to know where the costs of each chunk go.
+     */
+    private ArrayList<Chunk> csvChunks(FileChannel input) throws IOException {
+        var size = input.size();
+        var chunkBytes = Math.min((long) chunkParcels * Double.BYTES, MAX_CSV_CHUNK_BYTES);
+        var bounds = new ArrayList<Long>();
+        bounds.add(0L);
+        for (var position = chunkBytes; position < size; ) {
+            var lineEnd = nextLineFeed(input, position - 1);
+            if (lineEnd < 0 || lineEnd + 1 >= size) {
+                break;
+            }
+            bounds.add(lineEnd + 1);
+            position = lineEnd + 1 + chunkBytes;
+        }
+        bounds.add(size);
+
+        var pieces = new ArrayList<ForkJoinTask<ArrayList<Chunk>>>();
+        for (var i = 0; i + 1 < bounds.size(); i++) {
+            var from = bounds.get(i);
+            var to = bounds.get(i + 1);
+            if (to - from > Integer.MAX_VALUE) {
+                throw new IOException("Manifest line longer than " + Integer.MAX_VALUE + " bytes after byte " + from);
+            }
+            pieces.add(pool.submit(() -> cutLines(input, from, to)));
+        }
+        var chunks = new ArrayList<Chunk>();
+        var parcels = 0L;
+        for (var piece : pieces) {
+            for (var counted : join(piece)) {
+                var lines = counted.end() - counted.start();
+                chunks.add(new Chunk(counted.from(), counted.to(), parcels, parcels + lines));
+                parcels += lines;
+            }
+        }
+        return chunks;
+    }
+
+    private record Chunk(long from, long to, long start, long end) {
+        /**
+         * @return the indices of the invalid parcels of the chunk
+         */
+        long[] price(FileChannel input, FileChannel output, Format format, Tariff tariff) {
+            try {
+                var parcels = (int) (end - start);
+                var costs = new double[parcels];
+                var validity = new long[validityMaskLength(parcels)];
+                var weights = input.map(FileChannel.MapMode.READ_ONLY, from, to - from).order(ByteOrder.LITTLE_ENDIAN);
+                var valid = format == Format.BINARY
+                        ? PostalParcelService.calculateDeliveryCosts(weights.asDoubleBuffer(), costs, validity, tariff)
+                        : PostalParcelService.calculateDeliveryCosts(parseLines(weights, parcels), costs, validity, tariff);
+
+                var mapped = output.map(FileChannel.MapMode.READ_WRITE, start * Double.BYTES, (long) parcels * Double.BYTES);
+                mapped.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(costs);
+                return invalidIndices(validity, parcels, parcels - valid);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private long[] invalidIndices(long[] validity, int parcels, int invalidParcels) {
+            var invalid = new long[invalidParcels];
+            var next = 0;
+            for (var word = 0; word < validity.length; word++) {
+                // Bits beyond the last parcel are not invalid parcels
+                var remaining = Math.min(64, parcels - (word << 6));
+                var invalidBits = ~validity[word] & (remaining == 64 ? -1L : (1L << remaining) - 1);
+                while (invalidBits != 0) {
+                    invalid[next++] = start + (word << 6) + Long.numberOfTrailingZeros(invalidBits);
+                    invalidBits &= invalidBits - 1;
+                }
+            }
+            return invalid;
+        }
+    }
+
+    private static double[] parseLines(ByteBuffer bytes, int lines) {
+        var weights = new double[lines];
+        var start = 0;
+        var index = 0;
+        for (var i = 0; i < bytes.limit(); i++) {
+            if (bytes.get(i) == '\n') {
+                weights[index++] = parseWeight(bytes, start, i);
+                start = i + 1;
+            }
+        }
+        if (index < lines) {
+            weights[index] = parseWeight(bytes, start, bytes.limit());
+        }
+        return weights;
+    }
+
+    /**
+     * Weight between {@code from} and {@code to}, parsed as {@link Double#parseDouble(String)} would after
+     * {@link String#trim()}, NaN when it is not a number.
+     * <p>
+     * Decimals of at most {@value #MAX_FAST_DIGITS} significant digits scaled by at most 10^22 are parsed from the
+     * bytes: the digits and the power of ten are then exact doubles, so their product or quotient is correctly
+     * rounded (Clinger's fast path). Lines that cannot be a number are NaN right away, and the other spellings
+     * (more digits, larger exponents, NaN, Infinity, hexadecimal) are handed to {@link Double#parseDouble(String)}.
+     */
+    static double parseWeight(ByteBuffer bytes, int from, int to) {
+        while (from < to && (bytes.get(from) & 0xFF) <= ' ') from++;
+        while (to > from && (bytes.get(to - 1) & 0xFF) <= ' ') to--;
+
+        var i = from;
+        var negative = i < to && bytes.get(i) == '-';
+        if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) i++;
+
+        var mantissa = 0L;
+        var digits = 0;
+        var significantDigits = 0;
+        var exponent = 0;
+        var point = false;
+        for (; i < to; i++) {
+            var c = bytes.get(i);
+            if (c >= '0' && c <= '9') {
+                digits++;
+                if (mantissa != 0 || c != '0') significantDigits++;
+                if (significantDigits <= MAX_FAST_DIGITS) mantissa = mantissa * 10 + (c - '0');
+                else exponent++;
+                if (point) exponent--;
+            } else if (c == '.' && !point) {
+                point = true;
+            } else {
+                break;
+            }
+        }
+        if (digits == 0) {
+            return i < to && (bytes.get(i) == 'N' || bytes.get(i) == 'I') ? parseDouble(bytes, from, to) : Double.NaN;
+        }
+
+        if (i < to && (bytes.get(i) == 'e' || bytes.get(i) == 'E')) {
+            i++;
+            var negativeExponent = i < to && bytes.get(i) == '-';
+            if (i < to && (bytes.get(i) == '-' || bytes.get(i) == '+')) i++;
+            var exponentDigits = 0;
+            var explicit = 0;
+            for (; i < to && bytes.get(i) >= '0' && bytes.get(i) <= '9'; i++, exponentDigits++) {
+                explicit = Math.min(explicit * 10 + (bytes.get(i) - '0'), 100_000);
+            }
+            if (exponentDigits == 0) return Double.NaN;
+            exponent += negativeExponent ? -explicit : explicit;
+        }
+        if (i < to) {
+            var c = bytes.get(i);
+            if (c == 'x' || c == 'X') return parseDouble(bytes, from, to);
+            if (i + 1 < to || (c != 'f' && c != 'F' && c != 'd' && c != 'D')) return Double.NaN;
+        }
+
+        if (significantDigits > MAX_FAST_DIGITS || exponent > 22 || exponent < -22) {
+            return parseDouble(bytes, from, to);
+        }
+        var weight = exponent >= 0 ? mantissa * POWERS_OF_TEN[exponent] : mantissa / POWERS_OF_TEN[-exponent];
+        return negative ? -weight : weight;
+    }
+
+    private static double parseDouble(ByteBuffer bytes, int from, int to) {
+        var line = new byte[to - from];
+        bytes.get(from, line);
+        try {
+            return Double.parseDouble(new String(line, ISO_8859_1));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Chunks of the lines between {@code from} and {@code to}, cut after every {@code chunkParcels} lines, with
+     * their parcels numbered from 0.
+     */
+    private ArrayList<Chunk> cutLines(FileChannel input, long from, long to) {
+        try {
+            var bytes = input.map(FileChannel.MapMode.READ_ONLY, from, to - from);
+            var chunks = new ArrayList<Chunk>();
+            var start = 0;
+            var lines = 0L;
+            for (var i = 0; i < bytes.limit(); i++) {
+                if (bytes.get(i) == '\n' && ++lines == chunkParcels) {
+                    chunks.add(new Chunk(from + start, from + i + 1, 0, lines));
+                    start = i + 1;
+                    lines = 0;
+                }
+            }
+            if (start < bytes.limit() && bytes.get(bytes.limit() - 1) != '\n') {
+                lines++;
+            }
+            if (lines > 0) {
+                chunks.add(new Chunk(from + start, to, 0, lines));
+            }
+            return chunks;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static long nextLineFeed(FileChannel input, long from) throws IOException {
+        var buffer = ByteBuffer.allocate(4096);
+        for (var position = from; ; position += buffer.limit()) {
+            buffer.clear();
+            if (input.read(buffer, position) < 0) {
+                return -1;
+            }
+            buffer.flip();
+            for (var i = 0; i < buffer.limit(); i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i;
+                }
+            }
+        }
+    }
+
+    private static long writeIndices(FileChannel invalid, long[] indices) throws IOException {
+        var buffer = ByteBuffer.allocate(indices.length * Long.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.asLongBuffer().put(indices);
+        while (buffer.hasRemaining()) {
+            invalid.write(buffer);
+        }
+        return indices.length;
+    }
+
+    private static <T> T join(ForkJoinTask<T> task) throws IOException {
+        try {
+            return task.join();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+}
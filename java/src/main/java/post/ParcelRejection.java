@@ -0,0 +1,19 @@
+package post;
+
+public sealed interface ParcelRejection {
+    String message();
+
+    record InvalidWeight(double weight) implements ParcelRejection {
+        @Override
+        public String message() {
+            return "Invalid weight : " + weight;
+        }
+    }
+
+    record UnknownZone(String zone) implements ParcelRejection {
+        @Override
+        public String message() {
+            return "Unknown zone " + zone;
+        }
+    }
+}
@@ -1,13 +1,139 @@
 package post;
 
+import io.vavr.control.Either;
 import io.vavr.control.Option;
 import lombok.experimental.UtilityClass;
+import post.ParcelRejection.InvalidWeight;
 
-import static post.PostalParcel.*;
+import java.nio.DoubleBuffer;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static java.lang.Double.longBitsToDouble;
+import static post.PostalParcel.from;
 
 @UtilityClass
 public class PostalParcelService {
+    private static final long POSITIVE_INFINITY_BITS = doubleToRawLongBits(Double.POSITIVE_INFINITY);
+    private static final long NAN_BITS = doubleToRawLongBits(Double.NaN);
+
+    private static volatile Tariff tariff = Tariff.DEFAULT;
+
+    /**
+     * Replaces the tariff used when none is given. Calls already pricing keep the tariff they started with.
+     */
+    public static void useTariff(Tariff tariff) {
+        PostalParcelService.tariff = tariff;
+    }
+
+    public static Tariff tariff() {
+        return tariff;
+    }
+
     public static Option<Double> calculateDeliveryCosts(Option<PostalParcel> postalParcel) {
-        return postalParcel.map(p -> p.weight() > MAX_WEIGHT ? MAX_DELIVERY_COSTS : MIN_DELIVERY_COSTS);
+        var current = tariff;
+        return postalParcel.map(p -> current.costsOf(p.weight()));
+    }
+
+    public static Either<ParcelRejection, Double> calculateDeliveryCosts(double weight) {
+        return calculateDeliveryCosts(weight, tariff);
+    }
+
+    public static Either<ParcelRejection, Double> calculateDeliveryCosts(double weight, Tariff tariff) {
+        return from(weight)
+                .<ParcelRejection>toEither(() -> new InvalidWeight(weight))
+                .map(p -> tariff.costsOf(p.weight()));
+    }
+
+    /**
+     * Bulk version of {@link #calculateDeliveryCosts(double)}: writes the delivery costs of each weight in
+     * {@code costs}, or NaN for an invalid weight, and sets bit {@code i % 64} of {@code validity[i / 64]} when
+     * weight {@code i} is valid. The mask needs {@link #validityMaskLength(int)} words.
+     *
+     * @return the number of valid weights
+     */
+    public static int calculateDeliveryCosts(double[] weights, double[] costs, long[] validity) {
+        return calculateDeliveryCosts(weights, costs, validity, tariff);
+    }
+
+    public static int calculateDeliveryCosts(double[] weights, double[] costs, long[] validity, Tariff tariff) {
+        return calculateDeliveryCosts(weights, 0, weights.length, costs, validity, tariff);
+    }
+
+    /**
+     * Same as {@link #calculateDeliveryCosts(double[], double[], long[])} for the weights between the buffer
+     * position and limit, without moving its position.
+     */
+    public static int calculateDeliveryCosts(DoubleBuffer weights, double[] costs, long[] validity) {
+        return calculateDeliveryCosts(weights, costs, validity, tariff);
+    }
+
+    public static int calculateDeliveryCosts(DoubleBuffer weights, double[] costs, long[] validity, Tariff tariff) {
+        if (weights.hasArray()) {
+            return calculateDeliveryCosts(weights.array(), weights.arrayOffset() + weights.position(), weights.remaining(), costs, validity, tariff);
+        }
+        var count = weights.remaining();
+        checkCapacity(count, costs, validity);
+
+        var position = weights.position();
+        var valid = 0;
+        for (var word = 0; word < validityMaskLength(count); word++) {
+            var bits = 0L;
+            var end = Math.min(count, (word + 1) << 6);
+            for (var i = word << 6; i < end; i++) {
+                var weight = weights.get(position + i);
+                var isValid = validBit(doubleToRawLongBits(weight));
+                costs[i] = orNaN(tariff.costsOf(weight), isValid);
+                bits |= isValid << i;
+            }
+            validity[word] = bits;
+            valid += Long.bitCount(bits);
+        }
+        return valid;
+    }
+
+    public static int validityMaskLength(int parcels) {
+        return (parcels + 63) >>> 6;
+    }
+
+    private static int calculateDeliveryCosts(double[] weights, int offset, int count, double[] costs, long[] validity, Tariff tariff) {
+        checkCapacity(count, costs, validity);
+
+        var valid = 0;
+        for (var word = 0; word < validityMaskLength(count); word++) {
+            var bits = 0L;
+            var end = Math.min(count, (word + 1) << 6);
+            for (var i = word << 6; i < end; i++) {
+                var weight = weights[offset + i];
+                var isValid = validBit(doubleToRawLongBits(weight));
+                costs[i] = orNaN(tariff.costsOf(weight), isValid);
+                bits |= isValid << i;
+            }
+            validity[word] = bits;
+            valid += Long.bitCount(bits);
+        }
+        return valid;
+    }
+
+    private static void checkCapacity(int count, double[] costs, long[] validity) {
+        if (costs.length < count || validity.length < validityMaskLength(count)) {
+            throw new IllegalArgumentException("Not enough room for the costs of " + count + " parcels");
+        }
+    }
+
+    /**
+     * 1 when {@code 0 < weight <= +Infinity}, 0 for zero, negative and NaN weights, without branching:
+     * positive doubles are ordered as their bits.
+     */
+    private static long validBit(long weightBits) {
+        var x = weightBits - 1;
+        return (~x & (x - POSITIVE_INFINITY_BITS)) >>> 63;
+    }
+
+    /**
+     * The costs of a valid weight or NaN, selected with a mask rather than a branch.
+     */
+    private static double orNaN(double costs, long valid) {
+        var costsBits = doubleToRawLongBits(costs);
+        return longBitsToDouble(NAN_BITS ^ ((NAN_BITS ^ costsBits) & -valid));
     }
 }
\ No newline at end of file
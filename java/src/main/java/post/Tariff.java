@@ -0,0 +1,132 @@
+package post;
+
+import java.util.Arrays;
+
+import static java.lang.Double.doubleToRawLongBits;
+import static post.PostalParcel.*;
+
+/**
+ * Immutable delivery costs by weight band. Band {@code i} goes from weight limit {@code i - 1} excluded to weight
+ * limit {@code i} included, the first band starts at 0 and the last one has no upper limit.
+ * <p>
+ * Weight limits are positive, finite and increasing, and costs never decrease from one band to the next.
+ * Lookup counts the limits below the weight: without branches over the limits for small tables,
+ * with a binary search beyond {@value #LINEAR_LOOKUP_LIMITS} limits.
+ */
+public final class Tariff {
+    public static final Tariff DEFAULT = startingAt(MIN_DELIVERY_COSTS).above(MAX_WEIGHT, MAX_DELIVERY_COSTS);
+
+    static final int LINEAR_LOOKUP_LIMITS = 8;
+
+    private final double[] weightLimits;
+    private final long[] weightLimitBits;
+    private final double[] costs;
+
+    private Tariff(double[] weightLimits, double[] costs) {
+        this.weightLimits = weightLimits;
+        this.costs = costs;
+        this.weightLimitBits = Arrays.stream(weightLimits).mapToLong(Double::doubleToRawLongBits).toArray();
+    }
+
+    public static Tariff startingAt(double costs) {
+        return of(new double[0], new double[]{costs});
+    }
+
+    /**
+     * @param weightLimits upper weight of each band but the last one
+     * @param costs        costs of each band, one more than the weight limits
+     * @throws IllegalArgumentException when the bands are not as described in {@link Tariff}
+     */
+    public static Tariff of(double[] weightLimits, double[] costs) {
+        if (costs.length != weightLimits.length + 1) {
+            throw new IllegalArgumentException("Expected " + (weightLimits.length + 1) + " band costs : " + Arrays.toString(costs));
+        }
+        for (var i = 0; i < weightLimits.length; i++) {
+            var previous = i == 0 ? 0 : weightLimits[i - 1];
+            if (!(weightLimits[i] > previous) || !Double.isFinite(weightLimits[i])) {
+                throw new IllegalArgumentException("Weight limits must be positive, finite and increasing : " + Arrays.toString(weightLimits));
+            }
+        }
+        for (var i = 0; i < costs.length; i++) {
+            var previous = i == 0 ? 0 : costs[i - 1];
+            if (!(costs[i] >= previous) || !Double.isFinite(costs[i])) {
+                throw new IllegalArgumentException("Costs must be non negative, finite and non decreasing : " + Arrays.toString(costs));
+            }
+        }
+        return new Tariff(weightLimits.clone(), costs.clone());
+    }
+
+    /**
+     * Tariff with a new last band for weights above the given one.
+     */
+    public Tariff above(double weight, double costs) {
+        var limits = Arrays.copyOf(weightLimits, weightLimits.length + 1);
+        limits[weightLimits.length] = weight;
+        var bandCosts = Arrays.copyOf(this.costs, this.costs.length + 1);
+        bandCosts[this.costs.length] = costs;
+        return of(limits, bandCosts);
+    }
+
+    public int bands() {
+        return costs.length;
+    }
+
+    public double[] weightLimits() {
+        return weightLimits.clone();
+    }
+
+    public double[] costs() {
+        return costs.clone();
+    }
+
+    /**
+     * Costs of the band of a valid (positive) weight.
+     */
+    public double costsOf(double weight) {
+        return costs[bandOf(weight)];
+    }
+
+    int bandOf(double weight) {
+        if (weightLimitBits.length > LINEAR_LOOKUP_LIMITS) {
+            return binarySearch(weight);
+        }
+        // Positive doubles are ordered as their bits: the sign of the difference tells whether the limit is below
+        var weightBits = doubleToRawLongBits(weight);
+        var band = 0;
+        for (var limitBits : weightLimitBits) {
+            band += (int) ((limitBits - weightBits) >>> 63);
+        }
+        return band;
+    }
+
+    private int binarySearch(double weight) {
+        var low = 0;
+        var high = weightLimits.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (weightLimits[middle] < weight) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Tariff other
+                && Arrays.equals(weightLimits, other.weightLimits)
+                && Arrays.equals(costs, other.costs);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(weightLimits) + Arrays.hashCode(costs);
+    }
+
+    @Override
+    public String toString() {
+        return "Tariff" + Arrays.toString(weightLimits) + Arrays.toString(costs);
+    }
+}
@@ -0,0 +1,30 @@
+package post;
+
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+import post.ParcelRejection.UnknownZone;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tariffs by carrier or zone. Publishing a tariff replaces the previous one atomically: pricing threads look
+ * tariffs up without locking and each price comes from a single tariff.
+ */
+public final class Tariffs {
+    private final ConcurrentHashMap<String, Tariff> tariffs = new ConcurrentHashMap<>();
+
+    public Tariffs publish(String zone, Tariff tariff) {
+        tariffs.put(zone, tariff);
+        return this;
+    }
+
+    public Option<Tariff> find(String zone) {
+        return Option.of(tariffs.get(zone));
+    }
+
+    public Either<ParcelRejection, Double> calculateDeliveryCosts(String zone, double weight) {
+        return find(zone)
+                .<ParcelRejection>toEither(() -> new UnknownZone(zone))
+                .flatMap(tariff -> PostalParcelService.calculateDeliveryCosts(weight, tariff));
+    }
+}
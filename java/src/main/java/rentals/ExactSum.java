@@ -0,0 +1,137 @@
+package rentals;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+
+/**
+ * Exactly rounded sum of doubles (Shewchuk's non-overlapping partials, as in Python's {@code math.fsum}).
+ * <p>
+ * The partials hold the exact running sum, so {@link #sum()} is the correctly rounded value whatever the order
+ * in which values were {@link #add(double) added} or accumulators {@link #merge(ExactSum) merged}.
+ * <p>
+ * So that no intermediate sum overflows, inputs and partials are kept below {@code 2^1022} in magnitude by carrying
+ * multiples of {@code 2^1022} out of them: {@code [MAX_VALUE, MAX_VALUE, -MAX_VALUE]} sums to {@code MAX_VALUE}.
+ * Only sums holding such carries, i.e. reaching values close to {@link Double#MAX_VALUE}, are rounded through
+ * {@link BigDecimal}, and an exact sum beyond {@code MAX_VALUE} rounds to an infinity. Non-finite inputs make the sum
+ * non-finite.
+ */
+public final class ExactSum {
+    private static final double CARRY = 0x1p1022;
+
+    private double[] partials = new double[4];
+    private int size;
+    private long carries;
+    private double nonFinite;
+    private boolean hasNonFinite;
+
+    public ExactSum add(double value) {
+        if (!Double.isFinite(value)) {
+            addNonFinite(value);
+            return this;
+        }
+        var x = carry(value);
+        var i = 0;
+        for (var j = 0; j < size; j++) {
+            var y = partials[j];
+            if (Math.abs(x) < Math.abs(y)) {
+                var t = x;
+                x = y;
+                y = t;
+            }
+            var hi = x + y;
+            var lo = y - (hi - x);
+            if (lo != 0.0) {
+                partials[i++] = lo;
+            }
+            x = hi;
+        }
+        // CARRY is a multiple of the lowest bit of x, so the partials below x do not overlap what is left of it
+        x = carry(x);
+        if (i == partials.length) {
+            partials = Arrays.copyOf(partials, i * 2);
+        }
+        partials[i++] = x;
+        size = i;
+        return this;
+    }
+
+    /**
+     * Adds the exact sum held by the other accumulator to this one.
+     */
+    public ExactSum merge(ExactSum other) {
+        for (var j = 0; j < other.size; j++) {
+            add(other.partials[j]);
+        }
+        carries += other.carries;
+        if (other.hasNonFinite) {
+            addNonFinite(other.nonFinite);
+        }
+        return this;
+    }
+
+    ExactSum copy() {
+        var copy = new ExactSum();
+        copy.partials = Arrays.copyOf(partials, partials.length);
+        copy.size = size;
+        copy.carries = carries;
+        copy.nonFinite = nonFinite;
+        copy.hasNonFinite = hasNonFinite;
+        return copy;
+    }
+
+    public double sum() {
+        if (hasNonFinite) {
+            return nonFinite;
+        }
+        if (carries != 0) {
+            var exact = new BigDecimal(CARRY).multiply(BigDecimal.valueOf(carries));
+            for (var i = 0; i < size; i++) {
+                exact = exact.add(new BigDecimal(partials[i]));
+            }
+            return exact.doubleValue();
+        }
+        if (size == 0) {
+            return 0.0;
+        }
+        var n = size;
+        var hi = partials[--n];
+        var lo = 0.0;
+        while (n > 0) {
+            var x = hi;
+            var y = partials[--n];
+            hi = x + y;
+            lo = y - (hi - x);
+            if (lo != 0.0) {
+                break;
+            }
+        }
+        // Round half to even on the exact value: the rest of the partials break a tie in lo
+        if (n > 0 && ((lo < 0 && partials[n - 1] < 0) || (lo > 0 && partials[n - 1] > 0))) {
+            var y = lo * 2;
+            var x = hi + y;
+            if (y == x - hi) {
+                hi = x;
+            }
+        }
+        return hi;
+    }
+
+    /**
+     * Moves the multiples of {@link #CARRY} out of a finite value, which is exact as {@code CARRY} is a multiple
+     * of the ulp of any larger double.
+     */
+    private double carry(double value) {
+        var x = value;
+        while (Math.abs(x) >= CARRY) {
+            var carry = Math.copySign(CARRY, x);
+            x -= carry;
+            carries += carry < 0 ? -1 : 1;
+        }
+        return x;
+    }
+
+    private void addNonFinite(double value) {
+        nonFinite = hasNonFinite ? nonFinite + value : value;
+        hasNonFinite = true;
+    }
+}
@@ -0,0 +1,147 @@
+package rentals;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.IntBuffer;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable columnar storage of rentals: epoch days, amounts and label ids in primitive columns, labels in a
+ * dictionary. Columns live on the heap or, built with {@link Builder#offHeap()}, in direct buffers.
+ * <p>
+ * Dates are kept as {@code int} epoch days, which covers years -5877641 to 5881580.
+ */
+public final class RentalBatch {
+    private final IntBuffer epochDays;
+    private final DoubleBuffer amounts;
+    private final IntBuffer labelIds;
+    private final String[] labels;
+
+    private RentalBatch(IntBuffer epochDays, DoubleBuffer amounts, IntBuffer labelIds, String[] labels) {
+        this.epochDays = epochDays;
+        this.amounts = amounts;
+        this.labelIds = labelIds;
+        this.labels = labels;
+    }
+
+    public static RentalBatch of(Iterable<Rental> rentals) {
+        var builder = builder();
+        rentals.forEach(builder::add);
+        return builder.build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return amounts.limit();
+    }
+
+    public boolean isOffHeap() {
+        return amounts.isDirect();
+    }
+
+    public int epochDay(int index) {
+        return epochDays.get(index);
+    }
+
+    public double amount(int index) {
+        return amounts.get(index);
+    }
+
+    public int labelId(int index) {
+        return labelIds.get(index);
+    }
+
+    public String label(int index) {
+        return labels[labelIds.get(index)];
+    }
+
+    /**
+     * Number of distinct labels, the ids returned by {@link #labelId(int)} range from 0 to this count excluded.
+     */
+    public int labelCount() {
+        return labels.length;
+    }
+
+    public String labelOf(int labelId) {
+        return labels[labelId];
+    }
+
+    public Rental rental(int index) {
+        return new Rental(LocalDate.ofEpochDay(epochDay(index)), label(index), amount(index));
+    }
+
+    public static final class Builder {
+        private int[] epochDays = new int[16];
+        private double[] amounts = new double[16];
+        private int[] labelIds = new int[16];
+        private final Map<String, Integer> labelDictionary = new HashMap<>();
+        private int size;
+        private boolean offHeap;
+
+        private Builder() {
+        }
+
+        public Builder offHeap() {
+            this.offHeap = true;
+            return this;
+        }
+
+        public Builder add(Rental rental) {
+            return add(rental.date(), rental.label(), rental.amount());
+        }
+
+        /**
+         * @throws IllegalArgumentException when the date does not fit an {@code int} epoch day
+         */
+        public Builder add(LocalDate date, String label, double amount) {
+            var epochDay = date.toEpochDay();
+            if (epochDay != (int) epochDay) {
+                throw new IllegalArgumentException("Date out of the batch range : " + date);
+            }
+            return add((int) epochDay, label, amount);
+        }
+
+        public Builder add(int epochDay, String label, double amount) {
+            if (size == amounts.length) {
+                var capacity = size * 2;
+                epochDays = Arrays.copyOf(epochDays, capacity);
+                amounts = Arrays.copyOf(amounts, capacity);
+                labelIds = Arrays.copyOf(labelIds, capacity);
+            }
+            epochDays[size] = epochDay;
+            amounts[size] = amount;
+            labelIds[size] = labelDictionary.computeIfAbsent(label, l -> labelDictionary.size());
+            size++;
+            return this;
+        }
+
+        public RentalBatch build() {
+            var labels = new String[labelDictionary.size()];
+            labelDictionary.forEach((label, id) -> labels[id] = label);
+
+            if (!offHeap) {
+                return new RentalBatch(
+                        IntBuffer.wrap(Arrays.copyOf(epochDays, size)),
+                        DoubleBuffer.wrap(Arrays.copyOf(amounts, size)),
+                        IntBuffer.wrap(Arrays.copyOf(labelIds, size)),
+                        labels);
+            }
+            return new RentalBatch(
+                    direct(Integer.BYTES).asIntBuffer().put(epochDays, 0, size).flip(),
+                    direct(Double.BYTES).asDoubleBuffer().put(amounts, 0, size).flip(),
+                    direct(Integer.BYTES).asIntBuffer().put(labelIds, 0, size).flip(),
+                    labels);
+        }
+
+        private ByteBuffer direct(int bytesPerValue) {
+            return ByteBuffer.allocateDirect(size * bytesPerValue).order(ByteOrder.nativeOrder());
+        }
+    }
+}
@@ -1,46 +1,213 @@
 package rentals;
 
+import io.vavr.Lazy;
+import io.vavr.collection.Vector;
 import io.vavr.control.Either;
 import lombok.Getter;
+import rentals.RentalRejection.NoRentals;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 import static io.vavr.control.Either.left;
 import static io.vavr.control.Either.right;
+import static java.nio.charset.StandardCharsets.UTF_8;
 
-@Getter
-public class RentalCalculator {
-    private final List<Rental> rentals;
-    private double amount;
-    private boolean calculated;
+/**
+ * Immutable statement calculator, safe to share between threads.
+ * <p>
+ * The total is computed on creation and the statement the first time it is asked for, then served from cache.
+ * {@link #append(Iterable)} returns a new calculator whose total and cached statement extend this one's.
+ */
+public final class RentalCalculator {
+    private final Vector<Rental> rentals;
+    @Getter
+    private final double amount;
+    private final ExactSum exactSum;
+    private final Lazy<Statement> statement;
 
     public RentalCalculator(List<Rental> rentals) {
+        this(rentals == null ? Vector.empty() : Vector.ofAll(rentals), null);
+    }
+
+    private RentalCalculator(Vector<Rental> rentals, ExactSum exactSum) {
         this.rentals = rentals;
+        this.exactSum = exactSum;
+        this.amount = exactSum == null ? sequentialTotal(0, rentals) : exactSum.sum();
+        this.statement = Lazy.of(() -> Statement.of(rentals, amount));
+    }
+
+    private RentalCalculator(Vector<Rental> rentals, double amount, ExactSum exactSum, Lazy<Statement> statement) {
+        this.rentals = rentals;
+        this.amount = amount;
+        this.exactSum = exactSum;
+        this.statement = statement;
+    }
+
+    /**
+     * Calculator whose total is the exactly rounded sum of the amounts computed on the given pool
+     * (see {@link RentalTotal}), so it does not depend on how the rentals are split.
+     */
+    public static RentalCalculator parallel(List<Rental> rentals, ForkJoinPool pool) {
+        return new RentalCalculator(Vector.ofAll(rentals), RentalTotal.parallelSum(rentals, pool, RentalTotal.DEFAULT_SPLIT_SIZE));
+    }
+
+    /**
+     * Total of the batch amounts, summed in order as a calculator of the same rentals does.
+     */
+    public static double total(RentalBatch batch) {
+        var total = 0.0;
+        for (var i = 0; i < batch.size(); i++) {
+            total += batch.amount(i);
+        }
+        return total;
+    }
+
+    /**
+     * Statement of the batch, formatted from its columns without creating any {@link Rental}.
+     */
+    public static Either<RentalRejection, String> statement(RentalBatch batch) {
+        return statement(batch, new StringBuilder()).map(StringBuilder::toString);
+    }
+
+    public static <A extends Appendable> Either<RentalRejection, A> statement(RentalBatch batch, A output) {
+        if (batch.size() == 0) {
+            return left(new NoRentals());
+        }
+
+        var formatter = new StatementFormatter();
+        try {
+            for (var i = 0; i < batch.size(); i++) {
+                output.append(formatter.line(batch.epochDay(i), batch.label(i), batch.amount(i)));
+            }
+            output.append(formatter.total(total(batch)));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return right(output);
+    }
+
+    public List<Rental> getRentals() {
+        return rentals.asJava();
+    }
+
+    /**
+     * Whether the statement has already been computed and is served from cache.
+     */
+    public boolean isCalculated() {
+        return statement.isEvaluated();
+    }
+
+    /**
+     * Calculator of these rentals followed by the given ones.
+     * Only the added rentals are formatted when this statement has already been computed.
+     */
+    public RentalCalculator append(Iterable<Rental> added) {
+        var addedRentals = Vector.ofAll(added);
+        if (addedRentals.isEmpty()) {
+            return this;
+        }
+        var allRentals = rentals.appendAll(addedRentals);
+        var extendedSum = exactSum == null ? null : exactSum.copy();
+        var extendedAmount = extendedSum == null
+                ? sequentialTotal(amount, addedRentals)
+                : addAll(extendedSum, addedRentals).sum();
+
+        if (!statement.isEvaluated() || rentals.isEmpty()) {
+            return new RentalCalculator(allRentals, extendedAmount, extendedSum,
+                    Lazy.of(() -> Statement.of(allRentals, extendedAmount)));
+        }
+        var computed = statement.get();
+        return new RentalCalculator(allRentals, extendedAmount, extendedSum,
+                Lazy.of(() -> computed.extend(addedRentals, extendedAmount)));
     }
 
     public Either<String, String> calculateRental() {
-        if (rentals == null || rentals.size() == 0) {
-            return left("No rentals !!!");
+        return tryCalculateRental().mapLeft(RentalRejection::message);
+    }
+
+    public Either<RentalRejection, String> tryCalculateRental() {
+        return rentals.isEmpty() ? left(new NoRentals()) : right(statement.get().text());
+    }
+
+    /**
+     * Writes the statement to the given output: the cached one if already computed, otherwise line by line
+     * without building it in memory. Nothing is written when there is no rental.
+     */
+    public <A extends Appendable> Either<RentalRejection, A> calculateRental(A output) {
+        if (rentals.isEmpty()) {
+            return left(new NoRentals());
+        }
+
+        try {
+            if (statement.isEvaluated()) {
+                output.append(statement.get().text());
+            } else {
+                var formatter = new StatementFormatter();
+                for (var rental : rentals) {
+                    output.append(formatter.line(rental));
+                }
+                output.append(formatter.total(amount));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
 
-        var result = new StringBuilder();
+        return right(output);
+    }
+
+    /**
+     * Writes the UTF-8 encoded statement to the given channel, which is left open.
+     */
+    public Either<RentalRejection, WritableByteChannel> calculateRental(WritableByteChannel channel) {
+        var writer = Channels.newWriter(channel, UTF_8);
+        return calculateRental(writer)
+                .peek(this::flush)
+                .map(w -> channel);
+    }
+
+    private void flush(Writer writer) {
+        try {
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 
+    private static double sequentialTotal(double amount, Iterable<Rental> rentals) {
+        var total = amount;
         for (var rental : rentals) {
-            if (!calculated) {
-                this.amount += rental.amount();
-            }
-            result.append(formatLine(rental, amount));
+            total += rental.amount();
         }
-        result.append(String.format("Total amount | %f", this.amount));
-        calculated = true;
+        return total;
+    }
 
-        return right(result.toString());
+    private static ExactSum addAll(ExactSum sum, Iterable<Rental> rentals) {
+        for (var rental : rentals) {
+            sum.add(rental.amount());
+        }
+        return sum;
     }
 
-    private String formatLine(Rental rental, double amount) {
-        return String.format("%tF : %s | %f \n",
-                rental.date(),
-                rental.label(),
-                rental.amount());
+    private record Statement(String text, int linesLength) {
+        static Statement of(Iterable<Rental> rentals, double amount) {
+            return new Statement("", 0).extend(rentals, amount);
+        }
+
+        Statement extend(Iterable<Rental> rentals, double amount) {
+            var formatter = new StatementFormatter();
+            var builder = new StringBuilder(linesLength + 256).append(text, 0, linesLength);
+            for (var rental : rentals) {
+                builder.append(formatter.line(rental));
+            }
+            var extendedLinesLength = builder.length();
+            return new Statement(builder.append(formatter.total(amount)).toString(), extendedLinesLength);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,140 @@
+package rentals;
+
+import io.vavr.collection.HashMap;
+import io.vavr.collection.Map;
+import io.vavr.collection.Set;
+import io.vavr.control.Either;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Immutable index of rentals sorted by date (rentals on the same date keep their order) with prefix sums,
+ * answering date range totals in O(log n) and date range statements in O(log n) plus their length.
+ * <p>
+ * Prefix sums are kept as double-double (a high and a low part), so a range total stays within an ulp of the
+ * exact sum of its amounts even far into a long history. Per label totals are exact sums (see {@link ExactSum})
+ * indexed by a label dictionary.
+ */
+public final class RentalLedger {
+    private final List<Rental> rentals;
+    private final long[] epochDays;
+    private final double[] prefixHigh;
+    private final double[] prefixLow;
+    private final Map<String, Integer> labelIds;
+    private final double[] labelTotals;
+
+    private RentalLedger(List<Rental> rentals, Map<String, Integer> labelIds, double[] labelTotals) {
+        var size = rentals.size();
+        this.rentals = rentals;
+        this.labelIds = labelIds;
+        this.labelTotals = labelTotals;
+        this.epochDays = new long[size];
+        this.prefixHigh = new double[size + 1];
+        this.prefixLow = new double[size + 1];
+
+        for (var i = 0; i < size; i++) {
+            var rental = rentals.get(i);
+            epochDays[i] = rental.date().toEpochDay();
+
+            var high = prefixHigh[i];
+            var amount = rental.amount();
+            var sum = high + amount;
+            var virtual = sum - high;
+            var low = prefixLow[i] + (high - (sum - virtual)) + (amount - virtual);
+            prefixHigh[i + 1] = sum + low;
+            prefixLow[i + 1] = low - (prefixHigh[i + 1] - sum);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException when an amount is not finite, since it would spoil every later prefix sum
+     */
+    public static RentalLedger of(Iterable<Rental> rentals) {
+        var sorted = new ArrayList<Rental>();
+        var labelIds = new LinkedHashMap<String, Integer>();
+        var labelSums = new ArrayList<ExactSum>();
+
+        for (var rental : rentals) {
+            if (!Double.isFinite(rental.amount())) {
+                throw new IllegalArgumentException("Rental amount must be finite : " + rental);
+            }
+            var id = labelIds.computeIfAbsent(rental.label(), label -> {
+                labelSums.add(new ExactSum());
+                return labelSums.size() - 1;
+            });
+            labelSums.get(id).add(rental.amount());
+            sorted.add(rental);
+        }
+        sorted.sort(Comparator.comparing(Rental::date));
+
+        return new RentalLedger(List.copyOf(sorted), HashMap.ofAll(labelIds),
+                labelSums.stream().mapToDouble(ExactSum::sum).toArray());
+    }
+
+    public int size() {
+        return rentals.size();
+    }
+
+    /**
+     * Rentals dated from {@code from} to {@code to} included, in date order.
+     */
+    public List<Rental> between(LocalDate from, LocalDate to) {
+        var start = lowerBound(from.toEpochDay());
+        return rentals.subList(start, Math.max(start, upperBound(to.toEpochDay())));
+    }
+
+    /**
+     * Total amount of the rentals dated from {@code from} to {@code to} included.
+     */
+    public double total(LocalDate from, LocalDate to) {
+        var start = lowerBound(from.toEpochDay());
+        var end = upperBound(to.toEpochDay());
+        if (end <= start) {
+            return 0.0;
+        }
+        var high = prefixHigh[end] - prefixHigh[start];
+        var virtual = high - prefixHigh[end];
+        var error = (prefixHigh[end] - (high - virtual)) - (prefixHigh[start] + virtual);
+        return high + (error + (prefixLow[end] - prefixLow[start]));
+    }
+
+    /**
+     * Statement of the rentals dated from {@code from} to {@code to} included, in date order.
+     */
+    public Either<RentalRejection, String> statement(LocalDate from, LocalDate to) {
+        return new RentalCalculator(between(from, to)).tryCalculateRental();
+    }
+
+    public Set<String> labels() {
+        return labelIds.keySet();
+    }
+
+    /**
+     * Exactly rounded total amount of the rentals with the given label, 0 for an unknown label.
+     */
+    public double total(String label) {
+        return labelIds.get(label).map(id -> labelTotals[id]).getOrElse(0.0);
+    }
+
+    private int lowerBound(long epochDay) {
+        var low = 0;
+        var high = epochDays.length;
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+            if (epochDays[middle] < epochDay) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private int upperBound(long epochDay) {
+        return epochDay == Long.MAX_VALUE ? epochDays.length : lowerBound(epochDay + 1);
+    }
+}
@@ -0,0 +1,12 @@
+package rentals;
+
+public sealed interface RentalRejection {
+    String message();
+
+    record NoRentals() implements RentalRejection {
+        @Override
+        public String message() {
+            return "No rentals !!!";
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package rentals;
+
+import lombok.experimental.UtilityClass;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Exactly rounded total of rental amounts, computed sequentially or split across a {@link ForkJoinPool}.
+ * Both give the same total for every split size and parallelism.
+ */
+@UtilityClass
+public class RentalTotal {
+    public static final int DEFAULT_SPLIT_SIZE = 8192;
+
+    public static double exact(List<Rental> rentals) {
+        var sum = new ExactSum();
+        for (var rental : rentals) {
+            sum.add(rental.amount());
+        }
+        return sum.sum();
+    }
+
+    public static double parallel(List<Rental> rentals, ForkJoinPool pool) {
+        return parallel(rentals, pool, DEFAULT_SPLIT_SIZE);
+    }
+
+    /**
+     * Sums slices of at most {@code splitSize} rentals in parallel then merges their exact sums.
+     */
+    public static double parallel(List<Rental> rentals, ForkJoinPool pool, int splitSize) {
+        return parallelSum(rentals, pool, splitSize).sum();
+    }
+
+    static ExactSum parallelSum(List<Rental> rentals, ForkJoinPool pool, int splitSize) {
+        if (splitSize < 1) {
+            throw new IllegalArgumentException("Split size must be positive : " + splitSize);
+        }
+        var indexed = rentals instanceof RandomAccess ? rentals : new ArrayList<>(rentals);
+        return pool.invoke(new SumTask(indexed, 0, indexed.size(), splitSize));
+    }
+
+    @SuppressWarnings("serial")
+    private static final class SumTask extends RecursiveTask<ExactSum> {
+        private final List<Rental> rentals;
+        private final int from;
+        private final int to;
+        private final int splitSize;
+
+        private SumTask(List<Rental> rentals, int from, int to, int splitSize) {
+            this.rentals = rentals;
+            this.from = from;
+            this.to = to;
+            this.splitSize = splitSize;
+        }
+
+        @Override
+        protected ExactSum compute() {
+            if (to - from <= splitSize) {
+                var sum = new ExactSum();
+                for (var i = from; i < to; i++) {
+                    sum.add(rentals.get(i).amount());
+                }
+                return sum;
+            }
+            var middle = (from + to) >>> 1;
+            var left = new SumTask(rentals, from, middle, splitSize);
+            left.fork();
+            var right = new SumTask(rentals, middle, to, splitSize).compute();
+            return left.join().merge(right);
+        }
+    }
+}
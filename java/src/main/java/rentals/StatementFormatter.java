@@ -0,0 +1,172 @@
+package rentals;
+
+import java.text.DecimalFormatSymbols;
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Formats statement lines exactly as {@code String.format("%tF : %s | %f \n", ...)} and
+ * {@code String.format("Total amount | %f", ...)} would, without going through {@link java.util.Formatter}.
+ * <p>
+ * Lines are written into a buffer reused from one line to the next: a returned line is only valid until the next call,
+ * and a formatter must not be shared between threads.
+ * <p>
+ * {@code %f} rounds half-up to 6 decimals the digits {@code sun.misc.FloatingDecimal} gives for the double, and pads
+ * with zeros beyond them. Up to JDK 18 these are also the digits of {@link Double#toString(double)}, which is what this
+ * class reads: they are not always the shortest ones, and since JDK 19 {@code Double.toString} returns the shortest
+ * digits (JDK-4511638) while {@code Formatter} keeps {@code FloatingDecimal}, so the two can disagree on the last digit
+ * of some amounts. The build targets JDK 17, and {@code StatementFormatterProperties} checks the output against
+ * {@code String.format} on arbitrary doubles and around rounding ties: run it again before moving to a newer JDK.
+ * {@code %tF} prints the year of era on at least 4 digits. Digits and decimal separator follow the given locale.
+ */
+public final class StatementFormatter {
+    private static final int DECIMALS = 6;
+
+    private final StringBuilder line = new StringBuilder(64);
+    private final char[] digits = new char[32];
+    private final char zero;
+    private final char decimalSeparator;
+
+    public StatementFormatter() {
+        this(Locale.getDefault(Locale.Category.FORMAT));
+    }
+
+    public StatementFormatter(Locale locale) {
+        var symbols = DecimalFormatSymbols.getInstance(locale);
+        this.zero = symbols.getZeroDigit();
+        // Formatter does not look Locale.US up and always writes '.', whatever a locale provider says for it
+        this.decimalSeparator = Locale.US.equals(locale) ? '.' : symbols.getDecimalSeparator();
+    }
+
+    public CharSequence line(Rental rental) {
+        return line(rental.date(), rental.label(), rental.amount());
+    }
+
+    public CharSequence line(LocalDate date, String label, double amount) {
+        return line(date.getYear(), date.getMonthValue(), date.getDayOfMonth(), label, amount);
+    }
+
+    /**
+     * Line of a rental dated by its {@link LocalDate#toEpochDay() epoch day}, without creating the {@link LocalDate}.
+     */
+    public CharSequence line(long epochDay, String label, double amount) {
+        // Proleptic Gregorian calendar from days, in eras of 400 years starting on March 1st (H. Hinnant)
+        var days = epochDay + 719_468;
+        var era = Math.floorDiv(days, 146_097);
+        var dayOfEra = days - era * 146_097;
+        var yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        var dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        var shiftedMonth = (5 * dayOfYear + 2) / 153;
+        var dayOfMonth = (int) (dayOfYear - (153 * shiftedMonth + 2) / 5 + 1);
+        var month = (int) (shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9);
+        var year = (int) (yearOfEra + era * 400 + (month <= 2 ? 1 : 0));
+        return line(year, month, dayOfMonth, label, amount);
+    }
+
+    public CharSequence line(int year, int month, int dayOfMonth, String label, double amount) {
+        line.setLength(0);
+        appendDate(year, month, dayOfMonth);
+        line.append(" : ").append(label).append(" | ");
+        appendAmount(amount);
+        return line.append(" \n");
+    }
+
+    public CharSequence total(double amount) {
+        line.setLength(0);
+        line.append("Total amount | ");
+        appendAmount(amount);
+        return line;
+    }
+
+    private void appendDate(int year, int month, int dayOfMonth) {
+        appendNumber(year > 0 ? year : 1 - year, 4);
+        line.append('-');
+        appendNumber(month, 2);
+        line.append('-');
+        appendNumber(dayOfMonth, 2);
+    }
+
+    private void appendNumber(int value, int width) {
+        var length = value == 0 ? 1 : (int) Math.log10(value) + 1;
+        for (var i = length; i < width; i++) {
+            line.append(zero);
+        }
+        var start = line.length();
+        line.setLength(start + length);
+        for (var i = start + length - 1; i >= start; i--) {
+            line.setCharAt(i, digit(value % 10));
+            value /= 10;
+        }
+    }
+
+    private void appendAmount(double amount) {
+        if (Double.isNaN(amount)) {
+            line.append("NaN");
+            return;
+        }
+        if (Double.compare(amount, 0.0) < 0) {
+            line.append('-');
+            amount = -amount;
+        }
+        if (Double.isInfinite(amount)) {
+            line.append("Infinity");
+            return;
+        }
+
+        var repr = Double.toString(amount);
+        var exponentIndex = repr.indexOf('E');
+        var end = exponentIndex < 0 ? repr.length() : exponentIndex;
+        var exponent = exponentIndex < 0 ? 0 : Integer.parseInt(repr, exponentIndex + 1, repr.length(), 10);
+
+        // value = 0.digits * 10^decimalExponent
+        var count = 0;
+        var decimalExponent = exponent;
+        for (var i = 0; i < end; i++) {
+            var c = repr.charAt(i);
+            if (c == '.') {
+                decimalExponent += i;
+            } else if (c != '0' || count > 0) {
+                digits[count++] = c;
+            } else {
+                decimalExponent--;
+            }
+        }
+        while (count > 0 && digits[count - 1] == '0') count--;
+
+        var kept = decimalExponent + DECIMALS;
+        if (kept < 0) {
+            count = 0;
+        } else if (kept < count) {
+            var roundUp = digits[kept] >= '5';
+            count = kept;
+            if (roundUp) {
+                var i = kept - 1;
+                while (i >= 0 && digits[i] == '9') i--;
+                if (i < 0) {
+                    digits[0] = '1';
+                    count = 1;
+                    decimalExponent++;
+                } else {
+                    digits[i]++;
+                    count = i + 1;
+                }
+            }
+        }
+
+        if (decimalExponent <= 0 || count == 0) {
+            line.append(zero);
+        } else {
+            for (var i = 0; i < decimalExponent; i++) {
+                line.append(i < count ? digit(digits[i] - '0') : zero);
+            }
+        }
+        line.append(decimalSeparator);
+        for (var i = decimalExponent; i < decimalExponent + DECIMALS; i++) {
+            line.append(i >= 0 && i < count ? digit(digits[i] - '0') : zero);
+        }
+    }
+
+    private char digit(int value) {
+        return (char) (zero + value);
+    }
+}
@@ -2,6 +2,8 @@ package bank.solution;
 
 import bank.Account;
 import bank.Withdraw;
+import bank.WithdrawHistory;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
 import io.vavr.collection.List;
 import io.vavr.collection.Seq;
 import lombok.AllArgsConstructor;
@@ -12,30 +14,43 @@ import java.util.Random;
 @With
 @AllArgsConstructor
 public class AccountBuilder {
-    private static final Random random = new Random();
-    private final double balance;
+    private final long balance;
     private final boolean isOverdraftAuthorized;
-    private final double maxWithdrawal;
+    private final long maxWithdrawal;
     private final Seq<Withdraw> withdraws;
+    private final SourceOfRandomness random;
 
-    public static AccountBuilder newAccount() {
-        return new AccountBuilder(0, false, 0, List.empty());
+    /**
+     * Account whose margins are drawn from the given source only, so that its seed reproduces the account.
+     */
+    public static AccountBuilder newAccount(SourceOfRandomness random) {
+        return new AccountBuilder(0, false, 0, List.empty(), random);
     }
 
-    private static Double arbitraryAmount() {
-        return random.nextDouble();
+    /**
+     * Account whose margins are drawn from a source seeded with a value generated for the trial.
+     */
+    public static AccountBuilder newAccount(long seed) {
+        return newAccount(new SourceOfRandomness(new Random(seed)));
+    }
+
+    /**
+     * 1 to 99 cents, drawn anew for each margin so that balance and limit slacks are independent.
+     */
+    private long arbitraryAmount() {
+        return random.nextLong(1, 99);
     }
 
     public AccountBuilder withInsufficientBalance(Withdraw command) {
-        return this.withBalance(command.amount().value() - arbitraryAmount());
+        return this.withBalance(command.amount().cents() - arbitraryAmount());
     }
 
     public AccountBuilder withdrawAmountReachingMaxWithdrawal(Withdraw command) {
-        return this.withMaxWithdrawal(command.amount().value() - arbitraryAmount());
+        return this.withMaxWithdrawal(command.amount().cents() - arbitraryAmount());
     }
 
     public AccountBuilder withoutReachingMaxWithdrawal(Withdraw command) {
-        return this.withMaxWithdrawal(command.amount().value() + arbitraryAmount());
+        return this.withMaxWithdrawal(command.amount().cents() + arbitraryAmount());
     }
 
     public AccountBuilder withoutOverdraft() {
@@ -47,10 +62,10 @@ public class AccountBuilder {
     }
 
     public AccountBuilder withEnoughMoney(Withdraw command) {
-        return this.withBalance(command.amount().value() + arbitraryAmount());
+        return this.withBalance(command.amount().cents() + arbitraryAmount());
     }
 
     public Account build() {
-        return new Account(balance, isOverdraftAuthorized, maxWithdrawal, withdraws);
+        return new Account(balance, isOverdraftAuthorized, maxWithdrawal, WithdrawHistory.of(withdraws));
     }
 }
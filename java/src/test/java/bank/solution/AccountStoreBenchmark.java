@@ -0,0 +1,113 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountStore;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.ThreadParams;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatFactory;
+import org.openjdk.jmh.runner.Defaults;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Contention of {@link AccountStore#withdraw(UUID, Withdraw)}: every thread withdraws on one of {@code accounts} accounts.
+ * With 1 account all threads contend on the same reference, with many accounts they should scale with cores.
+ * Each thread draws its own withdraws and accounts, so that threads neither replay each other's commands nor move
+ * through the accounts in lockstep.
+ * <p>
+ * Run {@link #main(String[])} to scale threads from 1 to all cores:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.main=bank.solution.AccountStoreBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, batchSize = AccountStoreBenchmark.WITHDRAWS_PER_THREAD)
+@Measurement(iterations = 10, batchSize = AccountStoreBenchmark.WITHDRAWS_PER_THREAD)
+@Fork(1)
+public class AccountStoreBenchmark {
+    static final int WITHDRAWS_PER_THREAD = 100_000;
+
+    @Param({"1", "1024"})
+    private int accounts;
+
+    private UUID[] accountIds;
+    private AccountStore store;
+
+    @State(Scope.Thread)
+    public static class Commands {
+        private final WithdrawGenerator generator = new WithdrawGenerator();
+        private SourceOfRandomness random;
+        private Withdraw[] withdraws;
+        private int[] accountIndexes;
+        private int next;
+
+        @Setup(Level.Trial)
+        public void seed(ThreadParams thread) {
+            random = new SourceOfRandomness(new Random(42 + thread.getThreadIndex()));
+        }
+
+        @Setup(Level.Iteration)
+        public void generate() {
+            var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+            withdraws = IntStream.range(0, WITHDRAWS_PER_THREAD)
+                    .mapToObj(i -> generator.generate(random, status))
+                    .toArray(Withdraw[]::new);
+            accountIndexes = IntStream.range(0, WITHDRAWS_PER_THREAD)
+                    .map(i -> random.nextInt(0, Integer.MAX_VALUE))
+                    .toArray();
+            next = 0;
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openAccounts() {
+        store = new AccountStore();
+        accountIds = IntStream.range(0, accounts).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+        for (var accountId : accountIds) {
+            store.open(accountId, new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.compacting(16)));
+        }
+    }
+
+    @Benchmark
+    public Object withdraw(Commands commands) {
+        var index = commands.next++;
+        return store.withdraw(accountIds[commands.accountIndexes[index] % accounts], commands.withdraws[index]);
+    }
+
+    /**
+     * @param args JMH options, the result file holding the runs of every thread count
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        var options = new CommandLineOptions(args);
+        var results = new ArrayList<RunResult>();
+        var cores = Runtime.getRuntime().availableProcessors();
+        for (var threads = 1; ; threads = Math.min(threads * 2, cores)) {
+            results.addAll(new Runner(new OptionsBuilder()
+                    .parent(options)
+                    .include(AccountStoreBenchmark.class.getSimpleName())
+                    .threads(threads)
+                    .build())
+                    .run());
+            if (threads == cores) break;
+        }
+        if (options.getResult().hasValue()) {
+            ResultFormatFactory.getInstance(options.getResultFormat().orElse(Defaults.RESULT_FORMAT), options.getResult().get())
+                    .writeOut(results);
+        }
+    }
+}
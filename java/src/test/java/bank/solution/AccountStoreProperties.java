@@ -0,0 +1,104 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.AccountStore;
+import bank.Withdraw;
+import bank.WithdrawRejection;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import io.vavr.control.Either;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class AccountStoreProperties {
+    @Property(trials = 50)
+    public void concurrent_withdraws_should_be_explained_by_a_sequential_history(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 8) int threads,
+            @InRange(minDouble = 0, maxDouble = 5) double balance,
+            boolean isOverdraftAuthorized,
+            @InRange(minDouble = 0, maxDouble = 1) double maxWithdrawal) {
+        val accountId = UUID.randomUUID();
+        val account = Account.of(balance, isOverdraftAuthorized, maxWithdrawal, List.empty());
+        val store = new AccountStore();
+        store.open(accountId, account);
+
+        val results = concurrently(threads, List.ofAll(withdraws).appendAll(withdraws),
+                command -> store.withdraw(accountId, command));
+        val finalAccount = store.find(accountId).get();
+
+        assertThat(replay(account, finalAccount.withdraws())).isEqualTo(finalAccount);
+        results.forEach(result -> assertThat(result._2.isRight())
+                .isEqualTo(finalAccount.hasAlreadyApplied(result._1)));
+    }
+
+    @Property(trials = 50)
+    public void withdraws_on_different_accounts_should_not_interfere(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 8) int threads) {
+        val store = new AccountStore();
+        val accounts = List.range(0, threads).map(i -> UUID.randomUUID());
+        accounts.forEach(id -> store.open(id, Account.of(10, false, 1, List.empty())));
+
+        val commands = List.ofAll(withdraws).zipWithIndex();
+        concurrently(threads, commands, command -> store.withdraw(accounts.get(command._2 % threads), command._1));
+
+        accounts.zipWithIndex().forEach(account -> {
+            val expected = commands.filter(command -> command._2 % threads == account._2).map(Tuple2::_1);
+            assertThat(store.find(account._1).get())
+                    .isEqualTo(AccountService.withdrawAll(Account.of(10, false, 1, List.empty()), expected).account());
+        });
+    }
+
+    private static Account replay(Account account, Seq<Withdraw> history) {
+        return history.foldLeft(account, (acc, command) -> {
+            val result = AccountService.withdraw(acc, command);
+            assertThat(result.isRight()).isTrue();
+            return result.get();
+        });
+    }
+
+    @SneakyThrows
+    private static <T> Seq<Tuple2<T, Either<WithdrawRejection, Account>>> concurrently(
+            int threads,
+            Seq<T> commands,
+            java.util.function.Function<T, Either<WithdrawRejection, Account>> withdraw) {
+        val executor = Executors.newFixedThreadPool(threads);
+        val start = new CountDownLatch(1);
+        try {
+            val tasks = List.range(0, threads)
+                    .map(thread -> commands.zipWithIndex().filter(command -> command._2 % threads == thread).map(Tuple2::_1))
+                    .map(slice -> (Callable<Seq<Tuple2<T, Either<WithdrawRejection, Account>>>>) () -> {
+                        start.await();
+                        return slice.map(command -> Tuple.of(command, withdraw.apply(command)));
+                    })
+                    .map(executor::submit);
+            start.countDown();
+
+            var results = List.<Tuple2<T, Either<WithdrawRejection, Account>>>empty();
+            for (Future<Seq<Tuple2<T, Either<WithdrawRejection, Account>>>> task : tasks) {
+                results = results.appendAll(task.get());
+            }
+            return results;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package bank.solution;
+
+import bank.Amount;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class AmountProperties {
+    @Property
+    public void fast_path_should_validate_like_from(double amount) {
+        assertThat(Amount.isValid(Amount.toCents(amount)))
+                .isEqualTo(Amount.from(amount).isDefined());
+    }
+
+    @Property
+    public void cents_should_survive_a_round_trip_through_doubles(
+            @InRange(minLong = 1, maxLong = 1_000_000_000_000L) long cents) {
+        assertThat(Amount.toCents(Amount.fromCents(cents).get().value()))
+                .isEqualTo(cents);
+    }
+
+    @Property
+    public void amounts_should_be_rounded_to_the_nearest_cent(
+            @InRange(minDouble = 0, maxDouble = 1_000_000) double amount) {
+        assertThat(Math.abs(Amount.toCents(amount) - amount * 100)).isLessThanOrEqualTo(0.5);
+    }
+}
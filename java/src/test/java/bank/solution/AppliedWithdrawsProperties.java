@@ -0,0 +1,53 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class AppliedWithdrawsProperties {
+    @Property
+    public void index_should_answer_like_a_scan_of_the_history_for_a_new_withdraw(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> history,
+            @From(WithdrawGenerator.class) Withdraw withdraw) {
+        val account = accountWith(history);
+        assertThat(account.hasAlreadyApplied(withdraw))
+                .isEqualTo(account.withdraws().contains(withdraw));
+    }
+
+    @Property
+    public void index_should_answer_like_a_scan_of_the_history_for_a_replayed_withdraw(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> history,
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            int position) {
+        val replayedHistory = List.ofAll(history).append(withdraw);
+        val replayed = replayedHistory.get(Math.floorMod(position, replayedHistory.size()));
+        val account = accountWith(replayedHistory);
+
+        assertThat(account.hasAlreadyApplied(replayed))
+                .isEqualTo(account.withdraws().contains(replayed))
+                .isTrue();
+    }
+
+    @Property
+    public void index_should_stay_in_sync_with_the_history_when_withdrawing(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws) {
+        val account = List.ofAll(withdraws)
+                .foldLeft(accountWith(List.empty()), (acc, withdraw) -> AccountService.withdraw(acc, withdraw).get());
+
+        assertThat(account.history().applied().toJavaSet())
+                .isEqualTo(account.withdraws().toJavaSet());
+    }
+
+    private static Account accountWith(Iterable<Withdraw> history) {
+        return Account.of(Double.MAX_VALUE, false, Double.MAX_VALUE, List.ofAll(history));
+    }
+}
@@ -0,0 +1,53 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import bank.WithdrawOutcome;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import io.vavr.control.Either;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class BatchWithdrawProperties {
+    @Property
+    public void withdrawAll_should_behave_like_successive_withdraws(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minDouble = 0, maxDouble = 5) double balance,
+            boolean isOverdraftAuthorized,
+            @InRange(minDouble = 0, maxDouble = 1) double maxWithdrawal) {
+        val commands = List.ofAll(withdraws).appendAll(withdraws);
+        val account = Account.of(balance, isOverdraftAuthorized, maxWithdrawal, List.empty());
+
+        val batch = AccountService.withdrawAll(account, commands);
+        val successive = successiveWithdraws(account, commands);
+
+        assertThat(batch.account()).isEqualTo(successive._1);
+        assertThat(batch.outcomes().map(WithdrawOutcome::toEither)).isEqualTo(successive._2);
+    }
+
+    @Property
+    public void withdrawAll_should_return_the_same_account_when_nothing_is_applied(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws) {
+        val account = Account.of(0, false, 0, List.empty());
+
+        assertThat(AccountService.withdrawAll(account, withdraws).account()).isSameAs(account);
+    }
+
+    private static Tuple2<Account, Seq<Either<String, Withdraw>>> successiveWithdraws(Account account, Seq<Withdraw> commands) {
+        return commands.foldLeft(Tuple.of(account, List.empty()),
+                (state, command) -> AccountService.withdraw(state._1, command)
+                        .fold(error -> Tuple.of(state._1, state._2.append(Either.left(error))),
+                                debited -> Tuple.of(debited, state._2.append(Either.right(command)))));
+    }
+}
@@ -0,0 +1,170 @@
+package bank.solution;
+
+import bank.*;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.List;
+import io.vavr.collection.Map;
+import io.vavr.collection.Seq;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class DurableAccountStoreProperties {
+    private static final int ACCOUNTS = 3;
+
+    @Property(trials = 25)
+    public void recovered_store_should_hold_the_same_accounts(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minLong = 5, maxLong = 50) long snapshotInterval) {
+        inDirectory(directory -> {
+            val states = run(directory, snapshotInterval, List.ofAll(withdraws).appendAll(withdraws));
+
+            try (val recovered = DurableAccountStore.recover(directory)) {
+                assertThat(accountsOf(recovered, states.last())).isEqualTo(states.last());
+            }
+        });
+    }
+
+    @Property(trials = 25)
+    public void recovery_after_a_torn_journal_tail_should_restore_every_fully_written_record(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minLong = 5, maxLong = 50) long snapshotInterval,
+            @InRange(minDouble = 0, maxDouble = 1) double crashPoint,
+            boolean truncated,
+            long seed) {
+        inDirectory(directory -> {
+            val states = run(directory, snapshotInterval, List.ofAll(withdraws));
+            val written = (long) (states.size() - 1) * WithdrawJournal.RECORD_SIZE;
+            val crashOffset = (long) (crashPoint * written);
+            tear(directory.resolve("withdraws.journal"), crashOffset, written, truncated, new Random(seed));
+
+            try (val recovered = DurableAccountStore.recover(directory)) {
+                val expected = states.get((int) (crashOffset / WithdrawJournal.RECORD_SIZE));
+                assertThat(accountsOf(recovered, states.last())).isEqualTo(expected);
+            }
+        });
+    }
+
+    @Property(trials = 25)
+    public void recovery_should_replay_the_whole_journal_when_the_snapshot_is_corrupted(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minLong = 1, maxLong = 5) long snapshotInterval,
+            @InRange(minDouble = 0, maxDouble = 1) double corruptionPoint) {
+        inDirectory(directory -> {
+            val states = run(directory, snapshotInterval, List.ofAll(withdraws));
+            val snapshot = directory.resolve("accounts.snapshot");
+            if (Files.exists(snapshot)) {
+                try (val file = new RandomAccessFile(snapshot.toFile(), "rw")) {
+                    val offset = (long) (corruptionPoint * (file.length() - 1));
+                    file.seek(offset);
+                    val value = file.read();
+                    file.seek(offset);
+                    file.write(value ^ 0xff);
+                }
+            }
+            try (val recovered = DurableAccountStore.recover(directory)) {
+                assertThat(accountsOf(recovered, states.last())).isEqualTo(states.last());
+            }
+        });
+    }
+
+    @Property(trials = 25)
+    public void journal_should_replay_records_across_mapped_windows(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 5) int recordsPerWindow) {
+        inDirectory(directory -> {
+            val accountId = UUID.randomUUID();
+            try (val journal = WithdrawJournal.open(directory.resolve("journal"), recordsPerWindow)) {
+                withdraws.forEach(withdraw -> journal.withdrawn(accountId, withdraw));
+            }
+            try (val journal = WithdrawJournal.open(directory.resolve("journal"), recordsPerWindow)) {
+                val replayed = new java.util.ArrayList<Withdraw>();
+                journal.replay(0, new WithdrawJournal.Visitor() {
+                    @Override
+                    public void opened(UUID id, Account account) {
+                    }
+
+                    @Override
+                    public void withdrawn(UUID id, Withdraw command) {
+                        replayed.add(command);
+                    }
+                });
+                assertThat(journal.size()).isEqualTo(withdraws.size());
+                assertThat(replayed).isEqualTo(withdraws);
+            }
+        });
+    }
+
+    /**
+     * Runs the commands on a fresh store and returns the accounts after each journal record.
+     */
+    private static Seq<Map<UUID, Account>> run(Path directory, long snapshotInterval, Seq<Withdraw> commands) throws IOException {
+        val accountIds = List.range(0, ACCOUNTS).map(i -> UUID.randomUUID());
+        try (val store = DurableAccountStore.recover(directory, snapshotInterval)) {
+            var states = List.of(accountsOf(store, accountIds));
+            for (val accountId : accountIds) {
+                store.open(accountId, Account.of(20, false, 1, List.empty()));
+                states = states.append(accountsOf(store, accountIds));
+            }
+            for (val command : commands.zipWithIndex()) {
+                val accountId = accountIds.get(command._2 % ACCOUNTS);
+                val before = store.find(accountId).get();
+                if (store.withdraw(accountId, command._1).exists(after -> after != before))
+                    states = states.append(accountsOf(store, accountIds));
+            }
+            return states;
+        }
+    }
+
+    private static Map<UUID, Account> accountsOf(DurableAccountStore store, Map<UUID, Account> expected) {
+        return accountsOf(store, expected.keySet().toList());
+    }
+
+    private static Map<UUID, Account> accountsOf(DurableAccountStore store, Seq<UUID> accountIds) {
+        return io.vavr.collection.HashMap.ofEntries(accountIds
+                .flatMap(id -> store.find(id).map(account -> io.vavr.Tuple.of(id, account))));
+    }
+
+    private static void tear(Path journal, long crashOffset, long written, boolean truncated, Random random) throws IOException {
+        try (val file = new RandomAccessFile(journal.toFile(), "rw")) {
+            if (truncated) {
+                file.setLength(crashOffset);
+            } else {
+                val garbage = new byte[(int) (written - crashOffset)];
+                random.nextBytes(garbage);
+                file.seek(crashOffset);
+                file.write(garbage);
+            }
+        }
+    }
+
+    private interface InDirectory {
+        void run(Path directory) throws IOException;
+    }
+
+    @SneakyThrows
+    private static void inDirectory(InDirectory test) {
+        val directory = Files.createTempDirectory("journal");
+        try {
+            test.run(directory);
+        } finally {
+            try (val files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package bank.solution;
+
+import bank.Account;
+import bank.DurableAccountStore;
+import bank.WithdrawHistory;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Startup time of {@link DurableAccountStore#recover(Path)} as the journal grows,
+ * replaying the whole journal or only the last 10% written after a snapshot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = "-Xmx4g")
+public class RecoveryBenchmark {
+    private static final int ACCOUNTS = 64;
+
+    @Param({"10000", "100000", "1000000"})
+    private int journalSize;
+
+    @Param({"false", "true"})
+    private boolean snapshot;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void writeJournal() throws IOException {
+        directory = Files.createTempDirectory("recovery");
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new WithdrawGenerator();
+
+        try (var store = DurableAccountStore.recover(directory)) {
+            var accountIds = new UUID[ACCOUNTS];
+            for (var i = 0; i < ACCOUNTS; i++) {
+                accountIds[i] = UUID.randomUUID();
+                store.open(accountIds[i], new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.compacting(16)));
+            }
+            for (var i = 0; i < journalSize; i++) {
+                if (snapshot && i == journalSize - journalSize / 10) store.snapshot();
+                store.withdraw(accountIds[i % ACCOUNTS], generator.generate(random, status));
+            }
+        }
+    }
+
+    @Benchmark
+    public Object recover() throws IOException {
+        try (var store = DurableAccountStore.recover(directory)) {
+            return store;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteJournal() throws IOException {
+        try (var files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+}
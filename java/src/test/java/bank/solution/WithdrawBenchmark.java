@@ -0,0 +1,85 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import bank.WithdrawRecorder.Outcome;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static bank.solution.AccountBuilder.newAccount;
+
+/**
+ * {@link AccountService#withdraw(Account, Withdraw)} for each outcome across history lengths, accounts being
+ * set up by {@link AccountBuilder} as in the properties.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WithdrawBenchmark {
+    private static final int ACCOUNTS = 16;
+
+    @Param({"0", "100", "10000"})
+    private int historyLength;
+
+    @Param({"ACCEPTED", "DUPLICATE", "LIMIT_EXCEEDED", "INSUFFICIENT_BALANCE"})
+    private Outcome outcome;
+
+    private Account[] accounts;
+    private Withdraw[] commands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new WithdrawGenerator();
+        Seq<Withdraw> history = List.empty();
+        for (var i = 0; i < historyLength; i++) {
+            history = history.prepend(generator.generate(random, status));
+        }
+
+        accounts = new Account[ACCOUNTS];
+        commands = new Withdraw[ACCOUNTS];
+        for (var i = 0; i < ACCOUNTS; i++) {
+            commands[i] = generator.generate(random, status);
+            accounts[i] = account(random, history, commands[i]).build();
+        }
+    }
+
+    private AccountBuilder account(SourceOfRandomness random, Seq<Withdraw> history, Withdraw command) {
+        var account = newAccount(random).withWithdraws(history);
+        return switch (outcome) {
+            case ACCEPTED -> account
+                    .withEnoughMoney(command)
+                    .withoutReachingMaxWithdrawal(command);
+            case DUPLICATE -> account
+                    .withEnoughMoney(command)
+                    .withoutReachingMaxWithdrawal(command)
+                    .withWithdraws(history.append(command));
+            case LIMIT_EXCEEDED -> account
+                    .withEnoughMoney(command)
+                    .withdrawAmountReachingMaxWithdrawal(command);
+            case INSUFFICIENT_BALANCE -> account
+                    .withoutOverdraft()
+                    .withInsufficientBalance(command)
+                    .withoutReachingMaxWithdrawal(command);
+        };
+    }
+
+    @Benchmark
+    public Object withdraw() {
+        next = (next + 1) & (ACCOUNTS - 1);
+        return AccountService.withdraw(accounts[next], commands[next]);
+    }
+}
@@ -41,7 +41,7 @@ class WithdrawExampleTests {
             Either<String, Double> expectedResult
     ) {
         val command = new Withdraw(UUID.randomUUID(), Amount.from(withdrawAmount).get(), LocalDate.now());
-        val account = new Account(balance, isOverdraftAuthorized, maxWithdrawal, List.empty());
+        val account = Account.of(balance, isOverdraftAuthorized, maxWithdrawal, List.empty());
         val result = AccountService.withdraw(account, command);
 
         expectedResult
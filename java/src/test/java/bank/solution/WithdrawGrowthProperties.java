@@ -0,0 +1,57 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.Test;
+import pbt.Growth;
+
+import static bank.solution.AccountBuilder.newAccount;
+import static pbt.Growth.Bound.CONSTANT;
+
+public class WithdrawGrowthProperties {
+    @Test
+    public void withdraw_should_take_constant_time_whatever_the_history_length() {
+        Growth.of("AccountService.withdraw", (random, size) -> accountWithHistory(random, size, false), WithdrawGrowthProperties::withdraw)
+                .sizes(16, 16384)
+                .assertAtMost(CONSTANT);
+    }
+
+    @Test
+    public void duplicate_withdraw_should_take_constant_time_whatever_the_history_length() {
+        Growth.of("AccountService.withdraw of a duplicate", (random, size) -> accountWithHistory(random, size, true), WithdrawGrowthProperties::withdraw)
+                .sizes(16, 16384)
+                .assertAtMost(CONSTANT);
+    }
+
+    @Test
+    public void weekly_limit_check_should_take_constant_time_whatever_the_history_length() {
+        Growth.of("AccountService.exceedWithdrawnLimit over 7 days", (random, size) -> accountWithHistory(random, size, false),
+                        accountAndCommand -> AccountService.exceedWithdrawnLimit(accountAndCommand._1, accountAndCommand._2, 7, 10_000))
+                .sizes(16, 16384)
+                .assertAtMost(CONSTANT);
+    }
+
+    private static Object withdraw(Tuple2<Account, Withdraw> accountAndCommand) {
+        return AccountService.withdraw(accountAndCommand._1, accountAndCommand._2);
+    }
+
+    private static Tuple2<Account, Withdraw> accountWithHistory(SourceOfRandomness random, int historyLength, boolean applied) {
+        val generator = new WithdrawGenerator();
+        val status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        val history = List.fill(historyLength, () -> generator.generate(random, status));
+        val command = applied ? history.get(historyLength / 2) : generator.generate(random, status);
+        return Tuple.of(newAccount(random)
+                .withWithdraws(history)
+                .withEnoughMoney(command)
+                .withoutReachingMaxWithdrawal(command)
+                .build(), command);
+    }
+}
@@ -0,0 +1,62 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class WithdrawHistoryProperties {
+    @Property
+    public void history_should_keep_every_withdraw_in_order_when_not_compacting(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws) {
+        val history = List.ofAll(withdraws).foldLeft(WithdrawHistory.empty(), WithdrawHistory::append);
+
+        assertThat(history.withdraws()).containsExactlyElementsOf(withdraws);
+        assertThat(history.size()).isEqualTo(withdraws.size());
+    }
+
+    @Property
+    public void compacted_history_should_only_keep_the_most_recent_withdraws(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 10) int window) {
+        val history = List.ofAll(withdraws).foldLeft(WithdrawHistory.compacting(window), WithdrawHistory::append);
+
+        assertThat(history.withdraws()).containsExactlyElementsOf(List.ofAll(withdraws).takeRight(window));
+        assertThat(history.size()).isEqualTo(withdraws.size());
+        assertThat(history.compactedCents() + history.withdraws().map(w -> w.amount().cents()).sum().longValue())
+                .isEqualTo(List.ofAll(withdraws).map(w -> w.amount().cents()).sum().longValue());
+    }
+
+    @Property
+    public void compacted_history_should_still_know_every_applied_withdraw(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 10) int window) {
+        val history = List.ofAll(withdraws).foldLeft(WithdrawHistory.compacting(window), WithdrawHistory::append);
+
+        assertThat(withdraws).allMatch(history::contains);
+    }
+
+    @Property
+    public void compacting_should_not_change_withdraw_outcomes(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 10) int window) {
+        val commands = List.ofAll(withdraws).appendAll(withdraws);
+        val account = new Account(1_000, false, 100, WithdrawHistory.empty());
+        val compactedAccount = new Account(1_000, false, 100, WithdrawHistory.compacting(window));
+
+        val results = commands.scanLeft(account, (acc, withdraw) -> AccountService.withdraw(acc, withdraw).getOrElse(acc));
+        val compactedResults = commands.scanLeft(compactedAccount, (acc, withdraw) -> AccountService.withdraw(acc, withdraw).getOrElse(acc));
+
+        assertThat(compactedResults.map(Account::balance)).isEqualTo(results.map(Account::balance));
+    }
+}
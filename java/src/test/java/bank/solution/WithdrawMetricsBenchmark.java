@@ -0,0 +1,62 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import bank.WithdrawMetrics;
+import bank.WithdrawRecorder;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.collection.Vector;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Overhead of recording {@link AccountService#tryWithdraw(Account, Withdraw)} in {@link WithdrawMetrics}
+ * compared with the {@link WithdrawRecorder#NO_OP} default, on accepted and duplicate withdraws.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class WithdrawMetricsBenchmark {
+    private static final int COMMANDS = 1024;
+
+    @Param({"false", "true"})
+    private boolean recorded;
+
+    private Account account;
+    private Withdraw[] commands;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new WithdrawGenerator();
+        commands = new Withdraw[COMMANDS];
+        for (var i = 0; i < COMMANDS; i++) {
+            commands[i] = generator.generate(random, status);
+        }
+        account = new Account(Long.MAX_VALUE, false, Long.MAX_VALUE,
+                WithdrawHistory.of(Vector.of(commands).take(COMMANDS / 2)));
+        AccountService.record(recorded ? new WithdrawMetrics() : WithdrawRecorder.NO_OP);
+    }
+
+    @TearDown
+    public void tearDown() {
+        AccountService.record(WithdrawRecorder.NO_OP);
+    }
+
+    @Benchmark
+    public Object withdraw() {
+        next = (next + 1) & (COMMANDS - 1);
+        return AccountService.tryWithdraw(account, commands[next]);
+    }
+}
@@ -0,0 +1,175 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountStore;
+import bank.MetricsExporter;
+import bank.AccountService;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import bank.WithdrawMetrics;
+import bank.WithdrawRecorder;
+import bank.WithdrawRecorder.Outcome;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import pbt.Sequential;
+
+import java.util.EnumMap;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+@Sequential
+public class WithdrawMetricsProperties {
+    @Property
+    public void metrics_should_count_every_withdraw_by_outcome(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            boolean isOverdraftAuthorized) {
+        val metrics = new WithdrawMetrics(MetricsExporter.NO_OP, 1);
+        val expected = new EnumMap<Outcome, Long>(Outcome.class);
+        for (val outcome : Outcome.values()) expected.put(outcome, 0L);
+
+        AccountService.record(metrics);
+        try {
+            List.ofAll(withdraws).appendAll(withdraws).foldLeft(
+                    Account.of(5, isOverdraftAuthorized, 0.9, List.empty()),
+                    (account, withdraw) -> {
+                        val result = AccountService.tryWithdraw(account, withdraw);
+                        expected.merge(expectedOutcome(account, withdraw), 1L, Long::sum);
+                        return result.getOrElse(account);
+                    });
+        } finally {
+            AccountService.record(WithdrawRecorder.NO_OP);
+        }
+        val snapshot = metrics.snapshot();
+
+        assertThat(snapshot.outcomes()).isEqualTo(expected);
+        assertThat(snapshot.latenciesInNanos().count()).isEqualTo(2L * withdraws.size());
+        assertThat(snapshot.historyLengths().count()).isEqualTo(2L * withdraws.size());
+    }
+
+    @Property
+    public void history_lengths_should_be_recorded_in_their_power_of_two_bucket(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws) {
+        val metrics = new WithdrawMetrics();
+        val account = new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, bank.WithdrawHistory.of(List.ofAll(withdraws)));
+        val lengths = account.history().size();
+
+        metrics.record(Outcome.ACCEPTED, 0, lengths);
+        val historyLengths = metrics.snapshot().historyLengths();
+
+        assertThat(historyLengths.sum()).isEqualTo(lengths);
+        assertThat(historyLengths.percentile(1)).isGreaterThanOrEqualTo(lengths).isLessThan(2L * lengths + 1);
+    }
+
+    @Property
+    public void export_should_hand_the_current_snapshot_to_the_exporter(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws) {
+        val exported = new AtomicReference<WithdrawMetrics.Snapshot>();
+        val metrics = new WithdrawMetrics(exported::set);
+        withdraws.forEach(withdraw -> metrics.record(Outcome.DUPLICATE, 10, 1));
+
+        metrics.export();
+
+        assertThat(exported.get().outcomes().get(Outcome.DUPLICATE)).isEqualTo((long) withdraws.size());
+    }
+
+    @Property
+    public void sampled_metrics_should_still_count_every_withdraw(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws) {
+        val metrics = new WithdrawMetrics();
+
+        AccountService.record(metrics);
+        try {
+            withdraws.forEach(withdraw -> AccountService.tryWithdraw(Account.of(0, false, 0, List.empty()), withdraw));
+        } finally {
+            AccountService.record(WithdrawRecorder.NO_OP);
+        }
+        val snapshot = metrics.snapshot();
+
+        assertThat(snapshot.outcomes().get(Outcome.LIMIT_EXCEEDED)).isEqualTo((long) withdraws.size());
+        assertThat(snapshot.latenciesInNanos().count()).isLessThanOrEqualTo(withdraws.size());
+    }
+
+    @Property(trials = 50)
+    @SneakyThrows
+    public void store_withdraws_should_be_recorded_once_whatever_the_retries(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 8) int threads) {
+        val metrics = new WithdrawMetrics(MetricsExporter.NO_OP, 1);
+        val store = new AccountStore();
+        val accountId = UUID.randomUUID();
+        store.open(accountId, new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.empty()));
+        val commands = List.ofAll(withdraws).appendAll(withdraws);
+
+        AccountService.record(metrics);
+        val executor = Executors.newFixedThreadPool(threads);
+        try {
+            val start = new CountDownLatch(1);
+            val tasks = List.range(0, threads)
+                    .map(thread -> commands.zipWithIndex().filter(command -> command._2 % threads == thread).map(Tuple2::_1))
+                    .map(slice -> executor.submit(() -> {
+                        start.await();
+                        slice.forEach(command -> store.withdraw(accountId, command));
+                        return null;
+                    }));
+            start.countDown();
+            for (val task : tasks) task.get();
+        } finally {
+            executor.shutdownNow();
+            AccountService.record(WithdrawRecorder.NO_OP);
+        }
+        val snapshot = metrics.snapshot();
+
+        assertThat(snapshot.outcomes().get(Outcome.ACCEPTED)).isEqualTo((long) store.find(accountId).get().history().size());
+        assertThat(snapshot.outcomes().values().stream().mapToLong(Long::longValue).sum()).isEqualTo(commands.size());
+        assertThat(snapshot.latenciesInNanos().count()).isEqualTo(commands.size());
+    }
+
+    @Property
+    public void batches_should_be_recorded_as_successive_withdraws(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            boolean isOverdraftAuthorized) {
+        val account = Account.of(5, isOverdraftAuthorized, 0.9, List.empty());
+        val commands = List.ofAll(withdraws).appendAll(withdraws);
+        val successive = new WithdrawMetrics(MetricsExporter.NO_OP, 1);
+        val batched = new WithdrawMetrics(MetricsExporter.NO_OP, 1);
+        val stored = new WithdrawMetrics(MetricsExporter.NO_OP, 1);
+        val store = new AccountStore();
+        val accountId = UUID.randomUUID();
+        store.open(accountId, account);
+
+        try {
+            AccountService.record(successive);
+            commands.foldLeft(account, (acc, withdraw) -> AccountService.tryWithdraw(acc, withdraw).getOrElse(acc));
+            AccountService.record(batched);
+            AccountService.withdrawAll(account, commands);
+            AccountService.record(stored);
+            store.withdrawAll(accountId, commands);
+        } finally {
+            AccountService.record(WithdrawRecorder.NO_OP);
+        }
+
+        assertThat(batched.snapshot().outcomes()).isEqualTo(successive.snapshot().outcomes());
+        assertThat(stored.snapshot().outcomes()).isEqualTo(successive.snapshot().outcomes());
+        assertThat(batched.snapshot().latenciesInNanos().count()).isEqualTo(commands.size());
+    }
+
+    private static Outcome expectedOutcome(Account account, Withdraw withdraw) {
+        if (account.withdraws().contains(withdraw)) return Outcome.DUPLICATE;
+        if (withdraw.amount().cents() >= account.maxWithdrawalInCents()) return Outcome.LIMIT_EXCEEDED;
+        if (withdraw.amount().cents() > account.balanceInCents() && !account.isOverdraftAuthorized())
+            return Outcome.INSUFFICIENT_BALANCE;
+        return Outcome.ACCEPTED;
+    }
+}
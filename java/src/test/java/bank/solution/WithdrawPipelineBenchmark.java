@@ -0,0 +1,194 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountStore;
+import bank.Histogram;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import bank.WithdrawPipeline;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+/**
+ * Bursts of {@link WithdrawPipeline#submit(UUID, Withdraw)} against one synchronous
+ * {@link AccountStore#withdraw(UUID, Withdraw)} per command, every thread withdrawing on one of {@code accounts}
+ * accounts. The pipeline should win when threads contend on few accounts, its batches being applied with one
+ * compare and set each.
+ * <p>
+ * Run {@link #main(String[])} for a load test printing the throughput and the 99th percentile latency, from
+ * submission to completion, of {@value #PRODUCERS} producers:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.main=bank.solution.WithdrawPipelineBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(4)
+@Fork(1)
+public class WithdrawPipelineBenchmark {
+    static final int BURST = 64;
+    static final int PRODUCERS = 4;
+    static final int LOAD_WITHDRAWS = 200_000;
+
+    @Param({"1", "1024"})
+    private int accounts;
+
+    private UUID[] accountIds;
+    private AccountStore store;
+    private ForkJoinPool pool;
+    private WithdrawPipeline pipeline;
+
+    @State(Scope.Thread)
+    public static class Commands {
+        private final SourceOfRandomness random;
+        private final SimpleGenerationStatus status;
+        private final WithdrawGenerator generator = new WithdrawGenerator();
+
+        public Commands() {
+            this(42);
+        }
+
+        Commands(long seed) {
+            random = new SourceOfRandomness(new Random(seed));
+            status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        }
+
+        Withdraw next() {
+            return generator.generate(random, status);
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void openAccounts() {
+        store = new AccountStore();
+        accountIds = openAccounts(store, accounts);
+        pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        pipeline = new WithdrawPipeline(store, pool);
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public Object synchronous(Commands commands) {
+        Object last = null;
+        for (var i = 0; i < BURST; i++) {
+            last = store.withdraw(accountIds[i % accounts], commands.next());
+        }
+        return last;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BURST)
+    public Object pipeline(Commands commands) throws InterruptedException {
+        var outcomes = new CompletableFuture<?>[BURST];
+        for (var i = 0; i < BURST; i++) {
+            outcomes[i] = pipeline.submit(accountIds[i % accounts], commands.next());
+        }
+        return CompletableFuture.allOf(outcomes).join();
+    }
+
+    private static UUID[] openAccounts(AccountStore store, int accounts) {
+        var accountIds = IntStream.range(0, accounts).mapToObj(i -> UUID.randomUUID()).toArray(UUID[]::new);
+        for (var accountId : accountIds) {
+            store.open(accountId, new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.compacting(16)));
+        }
+        return accountIds;
+    }
+
+    /**
+     * @param args JMH options of the benchmarks run before the load test
+     */
+    public static void main(String[] args) throws Exception {
+        runBenchmarks(args);
+        for (var accounts : new int[]{1, 1024}) {
+            load("synchronous", accounts, store ->
+                    (accountId, command) -> CompletableFuture.completedFuture(store.withdraw(accountId, command)));
+            var pool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+            try {
+                load("pipeline", accounts, store -> new WithdrawPipeline(store, pool)::submit);
+            } finally {
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void runBenchmarks(String[] args) throws RunnerException, CommandLineOptionException {
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(WithdrawPipelineBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+
+    private interface Submission {
+        CompletableFuture<?> submit(UUID accountId, Withdraw command) throws InterruptedException;
+    }
+
+    /**
+     * {@value #PRODUCERS} producers submitting {@value #LOAD_WITHDRAWS} generated withdraws each in bursts of
+     * {@value #BURST}, the latency of a withdraw going from its submission to the completion of its outcome.
+     */
+    private static void load(String name, int accounts, Function<AccountStore, Submission> submitter) throws Exception {
+        var store = new AccountStore();
+        var accountIds = openAccounts(store, accounts);
+        var submission = submitter.apply(store);
+        var latencies = new Histogram();
+        var start = new CountDownLatch(1);
+        var producers = Executors.newFixedThreadPool(PRODUCERS);
+        try {
+            var done = new ArrayList<Future<?>>();
+            for (var producer = 0; producer < PRODUCERS; producer++) {
+                var seed = 42 + producer;
+                done.add(producers.submit(() -> {
+                    var commands = new Commands(seed);
+                    start.await();
+                    var outcomes = new CompletableFuture<?>[BURST];
+                    for (var i = 0; i < LOAD_WITHDRAWS; i += BURST) {
+                        for (var j = 0; j < BURST; j++) {
+                            var submitted = System.nanoTime();
+                            outcomes[j] = submission.submit(accountIds[(i + j) % accounts], commands.next())
+                                    .thenRun(() -> latencies.record(System.nanoTime() - submitted));
+                        }
+                        CompletableFuture.allOf(outcomes).join();
+                    }
+                    return null;
+                }));
+            }
+            var begin = System.nanoTime();
+            start.countDown();
+            for (var producer : done) {
+                producer.get();
+            }
+            var elapsed = System.nanoTime() - begin;
+            var snapshot = latencies.snapshot();
+            System.out.printf("%-11s %4d accounts : %,10.0f withdraws/s, p99 <= %,9d ns, mean %,9.0f ns%n",
+                    name, accounts, snapshot.count() * 1e9 / elapsed, snapshot.percentile(0.99), snapshot.mean());
+        } finally {
+            producers.shutdown();
+        }
+    }
+}
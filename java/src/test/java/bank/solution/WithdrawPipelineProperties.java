@@ -0,0 +1,179 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.AccountStore;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import bank.WithdrawOutcome;
+import bank.WithdrawOutcome.Applied;
+import bank.WithdrawOutcome.Rejected;
+import bank.WithdrawPipeline;
+import bank.WithdrawRejection.UnknownAccount;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import java.util.ArrayList;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(ReplayFirst.class)
+public class WithdrawPipelineProperties {
+    @Property(trials = 50)
+    @SneakyThrows
+    public void outcomes_should_be_those_of_successive_withdraws_on_each_account(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 4) int accounts,
+            @InRange(minInt = 1, maxInt = 4) int parallelism,
+            @InRange(minInt = 1, maxInt = 8) int maxBatch,
+            @InRange(minDouble = 0, maxDouble = 5) double balance,
+            @InRange(minDouble = 0, maxDouble = 1) double maxWithdrawal) {
+        val account = Account.of(balance, false, maxWithdrawal, List.empty());
+        val store = new AccountStore();
+        val accountIds = List.fill(accounts, UUID::randomUUID);
+        accountIds.forEach(id -> store.open(id, account));
+        val commands = List.ofAll(withdraws).appendAll(withdraws).zipWithIndex();
+
+        val pool = new ForkJoinPool(parallelism);
+        try {
+            val pipeline = new WithdrawPipeline(store, pool, commands.size() + 1, maxBatch);
+            val outcomes = new ArrayList<CompletableFuture<WithdrawOutcome>>();
+            for (val command : commands) {
+                outcomes.add(pipeline.submit(accountIds.get(command._2 % accounts), command._1));
+            }
+            CompletableFuture.allOf(outcomes.toArray(CompletableFuture[]::new)).join();
+
+            accountIds.zipWithIndex().forEach(id -> {
+                val accountCommands = commands.filter(command -> command._2 % accounts == id._2);
+                val expected = AccountService.withdrawAll(account, accountCommands.map(command -> command._1));
+
+                assertThat(store.find(id._1).get()).isEqualTo(expected.account());
+                assertThat(accountCommands.map(command -> outcomes.get(command._2).join().toEither()))
+                        .isEqualTo(expected.outcomes().map(WithdrawOutcome::toEither));
+            });
+            pool.awaitQuiescence(1, TimeUnit.MINUTES);
+            assertThat(pipeline.queues()).isZero();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Property
+    public void full_queue_should_push_back_until_drained(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 8) int queueCapacity) {
+        val held = new ArrayList<Runnable>();
+        val store = new AccountStore();
+        val accountId = UUID.randomUUID();
+        store.open(accountId, new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.empty()));
+        val pipeline = new WithdrawPipeline(store, held::add, queueCapacity, queueCapacity);
+
+        val submitted = List.ofAll(withdraws).map(command -> pipeline.trySubmit(accountId, command));
+
+        assertThat(submitted.map(s -> s.isDefined()))
+                .isEqualTo(List.range(0, withdraws.size()).map(i -> i < queueCapacity));
+        assertThat(submitted.flatMap(s -> s).exists(CompletableFuture::isDone)).isFalse();
+
+        held.forEach(Runnable::run);
+
+        assertThat(submitted.flatMap(s -> s).forAll(CompletableFuture::isDone)).isTrue();
+        assertThat(pipeline.queues()).isZero();
+        withdraws.stream().findFirst().ifPresent(command ->
+                assertThat(pipeline.trySubmit(accountId, command)).isNotEmpty());
+    }
+
+    @Property
+    @SneakyThrows
+    public void withdraws_on_an_unknown_account_should_be_rejected(@From(WithdrawGenerator.class) Withdraw command) {
+        val accountId = UUID.randomUUID();
+        val pipeline = new WithdrawPipeline(new AccountStore(), Runnable::run);
+
+        assertThat(pipeline.submit(accountId, command).join()).isEqualTo(new Rejected(command, new UnknownAccount(accountId)));
+        assertThat(pipeline.trySubmit(accountId, command).get().join()).isEqualTo(new Rejected(command, new UnknownAccount(accountId)));
+        assertThat(pipeline.queues()).isZero();
+    }
+
+    @Property
+    @SneakyThrows
+    public void withdraws_refused_by_the_executor_should_fail_without_blocking_the_account(
+            @From(WithdrawGenerator.class) Withdraw refused,
+            @From(WithdrawGenerator.class) Withdraw accepted) {
+        val accountId = UUID.randomUUID();
+        val store = new AccountStore();
+        store.open(accountId, new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.empty()));
+        val rejecting = new AtomicBoolean(true);
+        val pipeline = new WithdrawPipeline(store, task -> {
+            if (rejecting.get()) throw new RejectedExecutionException("saturated");
+            task.run();
+        });
+
+        val failed = pipeline.submit(accountId, refused);
+
+        assertThat(failed).isCompletedExceptionally();
+        assertThatThrownBy(failed::join).hasCauseInstanceOf(RejectedExecutionException.class);
+        assertThat(pipeline.queues()).isZero();
+
+        rejecting.set(false);
+
+        assertThat(pipeline.submit(accountId, accepted).join()).isEqualTo(new Applied(accepted));
+        assertThat(store.find(accountId).get().withdraws()).containsExactly(accepted);
+    }
+
+    @Property(trials = 50)
+    @SneakyThrows
+    public void concurrent_submitters_should_be_explained_by_a_sequential_history(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 1, maxInt = 8) int threads,
+            @InRange(minInt = 1, maxInt = 4) int queueCapacity,
+            @InRange(minDouble = 0, maxDouble = 5) double balance) {
+        val accountId = UUID.randomUUID();
+        val account = Account.of(balance, false, 1, List.empty());
+        val store = new AccountStore();
+        store.open(accountId, account);
+        val commands = List.ofAll(withdraws).appendAll(withdraws);
+
+        val pool = new ForkJoinPool(2);
+        val submitters = Executors.newFixedThreadPool(threads);
+        try {
+            val pipeline = new WithdrawPipeline(store, pool, queueCapacity, queueCapacity);
+            val start = new CountDownLatch(1);
+            val tasks = List.range(0, threads)
+                    .map(thread -> commands.zipWithIndex().filter(command -> command._2 % threads == thread).map(c -> c._1))
+                    .map(slice -> submitters.submit(() -> {
+                        start.await();
+                        var outcomes = List.<CompletableFuture<WithdrawOutcome>>empty();
+                        for (var command : slice) outcomes = outcomes.append(pipeline.submit(accountId, command));
+                        return outcomes;
+                    }));
+            start.countDown();
+            Seq<WithdrawOutcome> outcomes = List.empty();
+            for (val task : tasks) outcomes = outcomes.appendAll(task.get().map(CompletableFuture::join));
+
+            val finalAccount = store.find(accountId).get();
+            assertThat(AccountService.withdrawAll(account, finalAccount.withdraws()).account()).isEqualTo(finalAccount);
+            assertThat(outcomes.filter(outcome -> outcome instanceof Applied).map(WithdrawOutcome::command))
+                    .containsExactlyInAnyOrderElementsOf(finalAccount.withdraws());
+            pool.awaitQuiescence(1, TimeUnit.MINUTES);
+            assertThat(pipeline.queues()).isZero();
+        } finally {
+            submitters.shutdownNow();
+            pool.shutdown();
+        }
+    }
+}
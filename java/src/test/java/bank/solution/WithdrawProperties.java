@@ -5,21 +5,22 @@ import bank.AccountService;
 import bank.Withdraw;
 import com.pholser.junit.quickcheck.From;
 import com.pholser.junit.quickcheck.Property;
-import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
 import io.vavr.Function1;
 import io.vavr.Function2;
 import io.vavr.control.Either;
 import lombok.val;
 import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@RunWith(JUnitQuickcheck.class)
+@RunWith(ReplayFirst.class)
 public class WithdrawProperties {
     @Property
     public void withdraw_should_be_idem_potent(
-            @From(WithdrawGenerator.class) Withdraw withdraw) {
-        checkProperty(withdraw,
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkProperty(withdraw, seed,
                 accountBuilder -> accountBuilder
                         .withEnoughMoney(withdraw)
                         .withoutReachingMaxWithdrawal(withdraw),
@@ -28,37 +29,41 @@ public class WithdrawProperties {
 
     @Property
     public void balance_should_be_decremented_at_least_from_the_withdraw_amount(
-            @From(WithdrawGenerator.class) Withdraw withdraw) {
-        checkProperty(withdraw,
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkProperty(withdraw, seed,
                 accountBuilder -> accountBuilder
                         .withEnoughMoney(withdraw)
                         .withoutReachingMaxWithdrawal(withdraw),
-                (account, result) -> result.get().balance() <= account.balance() - withdraw.amount().value());
+                (account, result) -> result.get().balanceInCents() <= account.balanceInCents() - withdraw.amount().cents());
     }
 
     @Property
     public void balance_should_be_decremented_at_least_from_the_withdraw_amount_when_insufficient_balance_but_overdraft_authorized(
-            @From(WithdrawGenerator.class) Withdraw withdraw) {
-        checkProperty(withdraw,
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkProperty(withdraw, seed,
                 accountBuilder -> accountBuilder
                         .withInsufficientBalance(withdraw)
                         .withoutReachingMaxWithdrawal(withdraw)
                         .withOverdraft(),
-                (account, result) -> result.get().balance() <= account.balance() - withdraw.amount().value());
+                (account, result) -> result.get().balanceInCents() <= account.balanceInCents() - withdraw.amount().cents());
     }
 
     @Property
     public void withdraw_should_not_be_allowed_when_withdraw_amount_greater_than_maxWithdrawal(
-            @From(WithdrawGenerator.class) Withdraw withdraw) {
-        checkProperty(withdraw,
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkProperty(withdraw, seed,
                 accountBuilder -> accountBuilder.withdrawAmountReachingMaxWithdrawal(withdraw),
                 (account, result) -> result.getLeft().startsWith("Amount exceeding your limit of"));
     }
 
     @Property
     public void withdraw_should_not_be_allowed_when_insufficient_balance_and_no_overdraft(
-            @From(WithdrawGenerator.class) Withdraw withdraw) {
-        checkProperty(withdraw,
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkProperty(withdraw, seed,
                 accountBuilder -> accountBuilder
                         .withInsufficientBalance(withdraw)
                         .withoutOverdraft()
@@ -68,9 +73,10 @@ public class WithdrawProperties {
 
     private void checkProperty(
             Withdraw withdraw,
+            long seed,
             Function1<AccountBuilder, AccountBuilder> accountConfiguration,
             Function2<Account, Either<String, Account>, Boolean> property) {
-        val account = accountConfiguration.apply(AccountBuilder.newAccount()).build();
+        val account = accountConfiguration.apply(AccountBuilder.newAccount(seed)).build();
         assertThat(property.apply(account, AccountService.withdraw(account, withdraw))).isTrue();
     }
 }
\ No newline at end of file
@@ -0,0 +1,66 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import bank.WithdrawRejection;
+import bank.WithdrawRejection.InsufficientBalance;
+import bank.WithdrawRejection.LimitExceeded;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.Function1;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class WithdrawRejectionProperties {
+    @Property
+    public void withdraw_should_be_rejected_as_limit_exceeded_when_reaching_maxWithdrawal(
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkRejection(withdraw, seed,
+                accountBuilder -> accountBuilder.withdrawAmountReachingMaxWithdrawal(withdraw),
+                LimitExceeded.class);
+    }
+
+    @Property
+    public void withdraw_should_be_rejected_as_insufficient_balance_without_overdraft(
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            long seed) {
+        checkRejection(withdraw, seed,
+                accountBuilder -> accountBuilder
+                        .withInsufficientBalance(withdraw)
+                        .withoutOverdraft()
+                        .withoutReachingMaxWithdrawal(withdraw),
+                InsufficientBalance.class);
+    }
+
+    @Property
+    public void overdraft_should_be_rejected_as_insufficient_balance_before_the_balance_overflows(
+            @From(WithdrawGenerator.class) Withdraw withdraw,
+            @InRange(minLong = 0, maxLong = 100) long margin) {
+        val balance = Long.MIN_VALUE + margin % withdraw.amount().cents();
+        val account = new Account(balance, true, Long.MAX_VALUE, WithdrawHistory.empty());
+
+        assertThat(AccountService.tryWithdraw(account, withdraw).getLeft()).isInstanceOf(InsufficientBalance.class);
+        assertThat(AccountService.withdrawAll(account, List.of(withdraw)).account()).isEqualTo(account);
+    }
+
+    private void checkRejection(
+            Withdraw withdraw,
+            long seed,
+            Function1<AccountBuilder, AccountBuilder> accountConfiguration,
+            Class<? extends WithdrawRejection> expectedRejection) {
+        val account = accountConfiguration.apply(AccountBuilder.newAccount(seed)).build();
+        val rejection = AccountService.tryWithdraw(account, withdraw).getLeft();
+
+        assertThat(rejection).isInstanceOf(expectedRejection);
+        assertThat(rejection.message()).isEqualTo(AccountService.withdraw(account, withdraw).getLeft());
+    }
+}
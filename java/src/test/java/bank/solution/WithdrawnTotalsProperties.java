@@ -0,0 +1,213 @@
+package bank.solution;
+
+import bank.Account;
+import bank.AccountService;
+import bank.AccountsSnapshot;
+import bank.Withdraw;
+import bank.WithdrawHistory;
+import bank.WithdrawJournal;
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.HashMap;
+import io.vavr.collection.List;
+import io.vavr.collection.Seq;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import java.nio.file.Files;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(ReplayFirst.class)
+public class WithdrawnTotalsProperties {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2024, 1, 1);
+
+    @Property
+    public void daily_totals_should_be_the_sum_of_the_withdraws_of_the_day(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 0, maxInt = 10) int window) {
+        val commands = withinDays(withdraws, spread);
+        val history = commands.foldLeft(WithdrawHistory.compacting(window), WithdrawHistory::append);
+
+        List.range(-1, spread + 2).map(FIRST_DAY::plusDays).forEach(day ->
+                assertThat(history.withdrawnOn(day)).isEqualTo(scan(commands, day, 1)));
+    }
+
+    @Property
+    public void window_totals_should_be_the_sum_of_the_withdraws_of_the_window(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 0, maxInt = 10) int window,
+            @InRange(minInt = 1, maxInt = 40) int days) {
+        val commands = withinDays(withdraws, spread);
+        val history = WithdrawHistory.compacting(window).appendAll(commands);
+
+        List.range(-1, spread + days + 1).map(FIRST_DAY::plusDays).forEach(lastDay ->
+                assertThat(history.withdrawnOver(lastDay, days)).isEqualTo(scan(commands, lastDay, days)));
+    }
+
+    @Property
+    public void kept_days_should_give_the_totals_of_their_windows_and_refuse_older_ones(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 0, maxInt = 10) int window,
+            @InRange(minInt = 1, maxInt = 10) int keptDays) {
+        val commands = withinDays(withdraws, spread);
+        val history = commands.foldLeft(WithdrawHistory.compacting(window, keptDays), WithdrawHistory::append);
+        val lastDay = commands.map(Withdraw::requestDate).max().getOrElse(FIRST_DAY);
+
+        assertThat(history.dailyTotals().byDay().size()).isLessThanOrEqualTo(keptDays);
+        List.range(1, keptDays + 1).forEach(days -> {
+            assertThat(history.withdrawnOver(lastDay, days)).isEqualTo(scan(commands, lastDay, days));
+            assertThat(history.withdrawnOver(lastDay.minusDays(keptDays - days), days))
+                    .isEqualTo(scan(commands, lastDay.minusDays(keptDays - days), days));
+        });
+        if (!commands.isEmpty()) {
+            assertThatThrownBy(() -> history.withdrawnOver(lastDay, keptDays + 1)).isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    @Property
+    public void daily_totals_should_not_depend_on_the_order_of_the_withdraws(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 1, maxInt = 10) int keptDays) {
+        val commands = withinDays(withdraws, spread);
+
+        assertThat(WithdrawHistory.compacting(4, keptDays).appendAll(commands).dailyTotals())
+                .isEqualTo(WithdrawHistory.compacting(4, keptDays).appendAll(commands.sortBy(Withdraw::requestDate)).dailyTotals())
+                .isEqualTo(WithdrawHistory.compacting(4, keptDays).appendAll(commands.reverse()).dailyTotals());
+    }
+
+    @Property
+    public void appending_at_once_or_one_by_one_should_give_the_same_totals(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread) {
+        val commands = withinDays(withdraws, spread);
+
+        assertThat(WithdrawHistory.empty().appendAll(commands).dailyTotals())
+                .isEqualTo(commands.foldLeft(WithdrawHistory.empty(), WithdrawHistory::append).dailyTotals())
+                .isEqualTo(WithdrawHistory.of(commands).dailyTotals());
+    }
+
+    @Property
+    public void withdrawn_limit_should_match_a_scan_of_the_applied_withdraws(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 0, maxInt = 10) int window,
+            @InRange(minInt = 1, maxInt = 7) int days,
+            @InRange(minLong = 0, maxLong = 500) long limitInCents) {
+        val commands = withinDays(withdraws, spread);
+        var account = new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.compacting(window));
+        Seq<Withdraw> applied = List.empty();
+
+        for (val command : commands) {
+            val exceeds = AccountService.exceedWithdrawnLimit(account, command, days, limitInCents);
+
+            assertThat(exceeds).isEqualTo(scan(applied, command.requestDate(), days) + command.amount().cents() > limitInCents);
+            if (!exceeds) {
+                account = AccountService.tryWithdraw(account, command).get();
+                applied = applied.append(command);
+            }
+        }
+    }
+
+    @Property
+    public void withdrawn_limit_over_kept_days_should_count_folded_days_in_full(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 0, maxInt = 10) int window,
+            @InRange(minInt = 1, maxInt = 10) int keptDays,
+            @InRange(minInt = 1, maxInt = 7) int days,
+            @InRange(minLong = 0, maxLong = 5_000) long limitInCents) {
+        val commands = withinDays(withdraws, spread);
+        var account = new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.compacting(window, keptDays));
+        Seq<Withdraw> applied = List.empty();
+
+        for (val command : commands) {
+            val exceeds = AccountService.exceedWithdrawnLimit(account, command, days, limitInCents);
+
+            val withdrawn = scan(applied, command.requestDate(), days);
+            val firstKeptDay = applied.map(Withdraw::requestDate).max().map(day -> day.minusDays(keptDays - 1));
+            val folded = firstKeptDay.exists(first -> command.requestDate().minusDays(days - 1).isBefore(first));
+            val counted = !folded ? withdrawn
+                    : applied.filter(w -> w.requestDate().isBefore(firstKeptDay.get())).map(w -> w.amount().cents()).sum().longValue()
+                    + applied.filter(w -> !w.requestDate().isBefore(firstKeptDay.get()))
+                    .filter(w -> !w.requestDate().isAfter(command.requestDate()))
+                    .map(w -> w.amount().cents()).sum().longValue();
+
+            assertThat(exceeds).isEqualTo(counted + command.amount().cents() > limitInCents);
+            if (!exceeds) {
+                assertThat(withdrawn + command.amount().cents()).isLessThanOrEqualTo(limitInCents);
+                account = AccountService.tryWithdraw(account, command).get();
+                applied = applied.append(command);
+            }
+        }
+    }
+
+    @Property
+    @SneakyThrows
+    public void daily_totals_should_survive_a_snapshot(
+            java.util.List<@From(WithdrawGenerator.class) Withdraw> withdraws,
+            @InRange(minInt = 0, maxInt = 30) int spread,
+            @InRange(minInt = 0, maxInt = 10) int window,
+            @InRange(minInt = 1, maxInt = 40) int keptDays) {
+        val account = new Account(Long.MAX_VALUE, false, Long.MAX_VALUE,
+                withinDays(withdraws, spread).foldLeft(WithdrawHistory.compacting(window, keptDays), WithdrawHistory::append));
+        val file = Files.createTempFile("accounts", ".snapshot");
+        try {
+            new AccountsSnapshot(0, HashMap.of(UUID.randomUUID(), account)).writeTo(file);
+
+            val read = AccountsSnapshot.readFrom(file).get().accounts().values().head();
+            assertThat(read.history()).isEqualTo(account.history());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Property(trials = 25)
+    @SneakyThrows
+    public void kept_days_should_survive_a_journal_replay(
+            @InRange(minInt = 0, maxInt = 10) int window,
+            @InRange(minInt = 1, maxInt = 40) int keptDays) {
+        val account = new Account(Long.MAX_VALUE, false, Long.MAX_VALUE, WithdrawHistory.compacting(window, keptDays));
+        val file = Files.createTempFile("withdraws", ".journal");
+        try (val journal = WithdrawJournal.open(file)) {
+            journal.opened(UUID.randomUUID(), account);
+            journal.replay(0, new WithdrawJournal.Visitor() {
+                @Override
+                public void opened(UUID accountId, Account replayed) {
+                    assertThat(replayed).isEqualTo(account);
+                }
+
+                @Override
+                public void withdrawn(UUID accountId, Withdraw command) {
+                }
+            });
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * The withdraws moved to the {@code spread + 1} days from {@link #FIRST_DAY}, so that days hold several of them.
+     */
+    private static Seq<Withdraw> withinDays(java.util.List<Withdraw> withdraws, int spread) {
+        return List.ofAll(withdraws).map(w -> new Withdraw(w.clientId(), w.amount(),
+                FIRST_DAY.plusDays(Math.floorMod(w.clientId().getLeastSignificantBits(), spread + 1))));
+    }
+
+    private static long scan(Seq<Withdraw> withdraws, LocalDate lastDay, int days) {
+        return withdraws
+                .filter(w -> !w.requestDate().isAfter(lastDay) && w.requestDate().isAfter(lastDay.minusDays(days)))
+                .map(w -> w.amount().cents())
+                .sum().longValue();
+    }
+}
@@ -0,0 +1,42 @@
+package math.solution;
+
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import math.Calculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Calculator#add(int, int)} over random operands, the baseline of the harness itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalculatorBenchmark {
+    private static final int OPERANDS = 1024;
+
+    private int[] xs;
+    private int[] ys;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        xs = new int[OPERANDS];
+        ys = new int[OPERANDS];
+        for (var i = 0; i < OPERANDS; i++) {
+            xs[i] = random.nextInt();
+            ys[i] = random.nextInt();
+        }
+    }
+
+    @Benchmark
+    public int add() {
+        next = (next + 1) & (OPERANDS - 1);
+        return Calculator.add(xs[next], ys[next]);
+    }
+}
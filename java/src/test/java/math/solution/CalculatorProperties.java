@@ -1,13 +1,13 @@
 package math.solution;
 
 import com.pholser.junit.quickcheck.Property;
-import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
 import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
 
 import static math.Calculator.add;
 import static org.assertj.core.api.Assertions.assertThat;
 
-@RunWith(JUnitQuickcheck.class)
+@RunWith(ReplayFirst.class)
 public class CalculatorProperties {
     @Property
     public void commutativity(int x, int y) {
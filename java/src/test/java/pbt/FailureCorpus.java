@@ -0,0 +1,116 @@
+package pbt;
+
+import io.vavr.collection.Vector;
+import pbt.ParallelRunner.Failure;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.APPEND;
+import static java.nio.file.StandardOpenOption.CREATE;
+
+/**
+ * Failing cases of properties kept on disk, one file per property with one line per case: the trial seed and size
+ * that regenerate the failing value, then the shrunk counterexample for the reader.
+ * <p>
+ * Cases are replayed before new trials by {@link ParallelRunner}, which needs generators drawing from their source
+ * of randomness only.
+ */
+public final class FailureCorpus {
+    public static final String DIRECTORY_PROPERTY = "pbt.corpus";
+    public static final String REPLAY_ONLY_PROPERTY = "pbt.corpusOnly";
+    public static final String DEFAULT_DIRECTORY = ".pbt-corpus";
+
+    private final Path directory;
+    private final boolean replayOnly;
+
+    public record Case(long seed, int size, String counterexample) {
+    }
+
+    public FailureCorpus(Path directory, boolean replayOnly) {
+        this.directory = directory;
+        this.replayOnly = replayOnly;
+    }
+
+    /**
+     * Corpus in the {@code pbt.corpus} directory, {@value #DEFAULT_DIRECTORY} by default, replay only when
+     * {@code pbt.corpusOnly} is set to anything but false.
+     */
+    public static FailureCorpus fromSystemProperties() {
+        var replayOnly = System.getProperty(REPLAY_ONLY_PROPERTY);
+        return new FailureCorpus(
+                Paths.get(System.getProperty(DIRECTORY_PROPERTY, DEFAULT_DIRECTORY)),
+                replayOnly != null && !replayOnly.equalsIgnoreCase("false"));
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    /**
+     * Whether only the stored cases are checked, without new trials.
+     */
+    public boolean replayOnly() {
+        return replayOnly;
+    }
+
+    public synchronized Vector<Case> cases(String property) {
+        var file = fileOf(property);
+        if (!Files.exists(file)) {
+            return Vector.empty();
+        }
+        try (var lines = Files.lines(file, UTF_8)) {
+            return Vector.ofAll(lines.filter(line -> !line.isBlank()).map(FailureCorpus::parse).toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stores the case of the failure unless its seed and size already are.
+     */
+    public synchronized void store(String property, Failure<?> failure) {
+        var stored = new Case(failure.seed(), failure.size(), String.valueOf(failure.shrunk()));
+        if (cases(property).exists(c -> c.seed() == stored.seed() && c.size() == stored.size())) {
+            return;
+        }
+        try {
+            Files.createDirectories(directory);
+            Files.writeString(fileOf(property), format(stored), UTF_8, CREATE, APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path fileOf(String property) {
+        return directory.resolve(property.replaceAll("[^A-Za-z0-9._-]", "_") + ".corpus");
+    }
+
+    private static String format(Case stored) {
+        var counterexample = stored.counterexample().replace("\\", "\\\\").replace("\n", "\\n").replace("\r", "\\r").replace("\t", " ");
+        return stored.seed() + "\t" + stored.size() + "\t" + counterexample + "\n";
+    }
+
+    private static Case parse(String line) {
+        var fields = line.split("\t", 3);
+        return new Case(Long.parseLong(fields[0]), Integer.parseInt(fields[1]), fields.length < 3 ? "" : unescape(fields[2]));
+    }
+
+    private static String unescape(String escaped) {
+        var unescaped = new StringBuilder(escaped.length());
+        for (var i = 0; i < escaped.length(); i++) {
+            var c = escaped.charAt(i);
+            if (c == '\\' && i + 1 < escaped.length()) {
+                var next = escaped.charAt(++i);
+                unescaped.append(next == 'n' ? '\n' : next == 'r' ? '\r' : next);
+            } else {
+                unescaped.append(c);
+            }
+        }
+        return unescaped.toString();
+    }
+}
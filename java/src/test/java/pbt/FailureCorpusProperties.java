@@ -0,0 +1,86 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.FailureCorpus.Case;
+import pbt.ParallelRunner.Failure;
+import pbt.ParallelRunner.Result;
+import pbt.ParallelRunnerProperties.Digits;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pbt.ParallelRunner.REPLAYED;
+
+@RunWith(JUnitQuickcheck.class)
+public class FailureCorpusProperties {
+    private static final String PROPERTY = "sum is below";
+    private static final int TRIALS = 2_000;
+
+    @Property(trials = 25)
+    public void failure_should_be_stored_then_replayed_before_any_trial(
+            long masterSeed,
+            long otherMasterSeed,
+            @InRange(minInt = 10, maxInt = 600) int limit) throws IOException {
+        val corpus = new FailureCorpus(Files.createTempDirectory("corpus"), false);
+        val found = sumBelow(new ParallelRunner(ForkJoinPool.commonPool(), masterSeed), limit, corpus);
+        val failure = found.failure().get();
+
+        assertThat(corpus.cases(PROPERTY)).containsExactly(new Case(failure.seed(), failure.size(), failure.shrunk().toString()));
+
+        val trials = new AtomicInteger();
+        val replayed = new ParallelRunner(ForkJoinPool.commonPool(), otherMasterSeed)
+                .check(PROPERTY, TRIALS, Generators.listOf(new Digits()), list -> {
+                    trials.incrementAndGet();
+                    sumIsBelow(limit).verify(list);
+                }, corpus);
+
+        assertThat(replayed.failure().map(Failure::trial)).contains(REPLAYED);
+        assertThat(replayed.failure().map(Failure::shrunk)).contains(failure.shrunk());
+        assertThat(replayed.trials()).isZero();
+        assertThat(trials.get()).isLessThan(TRIALS);
+    }
+
+    @Property(trials = 25)
+    public void corpus_only_run_should_replay_the_stored_cases_without_new_trials(
+            long masterSeed,
+            @InRange(minInt = 10, maxInt = 600) int limit) throws IOException {
+        val directory = Files.createTempDirectory("corpus");
+        sumBelow(new ParallelRunner(ForkJoinPool.commonPool(), masterSeed), limit, new FailureCorpus(directory, false));
+
+        val fixed = new ParallelRunner(ForkJoinPool.commonPool(), masterSeed)
+                .check(PROPERTY, TRIALS, Generators.listOf(new Digits()), list -> {
+                }, new FailureCorpus(directory, true));
+
+        assertThat(fixed.failure()).isEmpty();
+        assertThat(fixed.replayed()).isEqualTo(1);
+        assertThat(fixed.trials()).isZero();
+    }
+
+    @Property
+    public void cases_should_be_read_as_stored(long seed, @InRange(minInt = 0, maxInt = 99) int size, String counterexample) throws IOException {
+        val corpus = new FailureCorpus(Files.createTempDirectory("corpus"), false);
+        val stored = "\\n" + counterexample + "\r\n\\";
+
+        corpus.store("a/property", new Failure<>(0, seed, size, stored, stored, new AssertionError()));
+        corpus.store("a/property", new Failure<>(0, seed, size, stored, stored, new AssertionError()));
+
+        assertThat(corpus.cases("a/property")).containsExactly(new Case(seed, size, stored.replace('\t', ' ')));
+        assertThat(corpus.cases("another property")).isEmpty();
+    }
+
+    private static Result<List<Integer>> sumBelow(ParallelRunner runner, int limit, FailureCorpus corpus) {
+        return runner.check(PROPERTY, TRIALS, Generators.listOf(new Digits()), sumIsBelow(limit), corpus);
+    }
+
+    private static ParallelRunner.Trial<List<Integer>> sumIsBelow(int limit) {
+        return list -> assertThat(list.stream().mapToLong(Math::abs).sum()).isLessThan(limit);
+    }
+}
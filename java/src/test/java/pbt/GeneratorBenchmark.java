@@ -0,0 +1,79 @@
+package pbt;
+
+import bank.solution.AccountBuilder;
+import bank.solution.WithdrawGenerator;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import post.solution.TariffGenerator;
+import rentals.solution.RentalGenerator;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Values generated per second by each generator, every thread drawing from its own source of randomness as
+ * trials sharded by {@link ParallelRunner} do. Run with {@code -t} to see how generation scales with threads,
+ * {@link UUID#randomUUID()} being the shared source the generators no longer use.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeneratorBenchmark {
+    private static final AtomicLong SEEDS = new AtomicLong(42);
+
+    @Param({"10"})
+    private int size;
+
+    private final WithdrawGenerator withdraws = new WithdrawGenerator();
+    private final RentalGenerator rentals = new RentalGenerator();
+    private final TariffGenerator tariffs = new TariffGenerator();
+    private SourceOfRandomness random;
+    private SimpleGenerationStatus status;
+
+    @Setup
+    public void setUp() {
+        random = new SourceOfRandomness(new Random(SEEDS.getAndIncrement()));
+        status = new SimpleGenerationStatus(new GeometricDistribution(), random, size);
+    }
+
+    @Benchmark
+    public Object withdraw() {
+        return withdraws.generate(random, status);
+    }
+
+    @Benchmark
+    public Object account() {
+        var command = withdraws.generate(random, status);
+        return AccountBuilder.newAccount(random)
+                .withEnoughMoney(command)
+                .withoutReachingMaxWithdrawal(command)
+                .build();
+    }
+
+    @Benchmark
+    public Object rental() {
+        return rentals.generate(random, status);
+    }
+
+    @Benchmark
+    public Object tariff() {
+        return tariffs.generate(random, status);
+    }
+
+    @Benchmark
+    public UUID uuid() {
+        return Generators.uuid(random);
+    }
+
+    @Benchmark
+    public UUID randomUUID() {
+        return UUID.randomUUID();
+    }
+}
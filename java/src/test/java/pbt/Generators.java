@@ -0,0 +1,66 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.generator.Generator;
+import com.pholser.junit.quickcheck.generator.java.util.ArrayListGenerator;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import lombok.experimental.UtilityClass;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Values drawn from a {@link SourceOfRandomness} only, so that a seed reproduces them whatever the thread,
+ * without the shared state of {@link UUID#randomUUID()} or of a static {@link java.util.Random}.
+ */
+@UtilityClass
+public class Generators {
+    private static final long MIN_EPOCH_DAY = LocalDate.MIN.toEpochDay();
+    private static final long MAX_EPOCH_DAY = LocalDate.MAX.toEpochDay();
+    // Code points drawn by junit-quickcheck's StringGenerator: the basic multilingual plane below the surrogates
+    private static final int MAX_CHAR = Character.MIN_SURROGATE - 1;
+    private static final ThreadLocal<char[]> CHARS = ThreadLocal.withInitial(() -> new char[64]);
+
+    /**
+     * Generator of lists of values of the given generator, sized and shrunk as junit-quickcheck does.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Generator<List<T>> listOf(Generator<T> elements) {
+        var lists = new ArrayListGenerator();
+        lists.addComponentGenerators(List.of(elements));
+        return (Generator<List<T>>) (Generator<?>) lists;
+    }
+
+    /**
+     * Random (version 4) UUID.
+     */
+    public static UUID uuid(SourceOfRandomness random) {
+        var mostSignificantBits = random.nextLong();
+        var leastSignificantBits = random.nextLong();
+        return new UUID(
+                (mostSignificantBits & ~0xF000L) | 0x4000L,
+                (leastSignificantBits & ~(0xCL << 60)) | (0x8L << 60));
+    }
+
+    /**
+     * Same dates as junit-quickcheck's {@code LocalDateGenerator} with its default range.
+     */
+    public static LocalDate localDate(SourceOfRandomness random) {
+        return LocalDate.ofEpochDay(random.nextLong(MIN_EPOCH_DAY, MAX_EPOCH_DAY));
+    }
+
+    /**
+     * Same strings as junit-quickcheck's {@code StringGenerator}, built in a buffer reused by the thread.
+     */
+    public static String string(SourceOfRandomness random, int length) {
+        var chars = CHARS.get();
+        if (chars.length < length) {
+            chars = new char[Math.max(length, chars.length * 2)];
+            CHARS.set(chars);
+        }
+        for (var i = 0; i < length; i++) {
+            chars[i] = (char) random.nextInt(0, MAX_CHAR);
+        }
+        return new String(chars, 0, length);
+    }
+}
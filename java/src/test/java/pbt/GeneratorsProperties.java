@@ -0,0 +1,92 @@
+package pbt;
+
+import bank.solution.AccountBuilder;
+import bank.solution.WithdrawGenerator;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import com.pholser.junit.quickcheck.generator.java.lang.StringGenerator;
+import com.pholser.junit.quickcheck.generator.java.time.LocalDateGenerator;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
+import io.vavr.Tuple;
+import io.vavr.Tuple2;
+import io.vavr.collection.List;
+import lombok.val;
+import org.junit.runner.RunWith;
+import rentals.Rental;
+import rentals.solution.RentalGenerator;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(JUnitQuickcheck.class)
+public class GeneratorsProperties {
+    @Property
+    public void withdraws_and_accounts_should_be_reproduced_from_the_seed(long seed, @InRange(minInt = 0, maxInt = 100) int size) {
+        val first = new WithdrawGenerator().generate(random(seed), status(seed, size));
+        val second = new WithdrawGenerator().generate(random(seed), status(seed, size));
+
+        assertThat(second).isEqualTo(first);
+        assertThat(AccountBuilder.newAccount(random(seed)).withEnoughMoney(second).withoutReachingMaxWithdrawal(second).build())
+                .isEqualTo(AccountBuilder.newAccount(random(seed)).withEnoughMoney(first).withoutReachingMaxWithdrawal(first).build());
+    }
+
+    @Property
+    public void account_margins_should_be_drawn_independently(long seed) {
+        val random = random(seed);
+        val command = new WithdrawGenerator().generate(random, status(seed, 0));
+        val slacks = List.fill(16, () -> AccountBuilder.newAccount(random)
+                        .withEnoughMoney(command)
+                        .withoutReachingMaxWithdrawal(command)
+                        .build())
+                .map(account -> Tuple.of(account.balanceInCents() - command.amount().cents(),
+                        account.maxWithdrawalInCents() - command.amount().cents()));
+
+        assertThat(slacks.map(Tuple2::_1).distinct().size()).isGreaterThan(1);
+        assertThat(slacks.exists(slack -> !slack._1.equals(slack._2))).isTrue();
+    }
+
+    @Property
+    public void uuids_should_be_random_uuids(long seed) {
+        val uuid = Generators.uuid(random(seed));
+
+        assertThat(uuid.version()).isEqualTo(4);
+        assertThat(uuid.variant()).isEqualTo(2);
+    }
+
+    @Property
+    public void rentals_should_be_those_of_the_junit_quickcheck_generators(long seed, @InRange(minInt = 0, maxInt = 100) int size) {
+        val random = random(seed);
+        val status = status(seed, size);
+        val expected = new Rental(
+                new LocalDateGenerator().generate(random, status),
+                new StringGenerator().generate(random, status),
+                Math.abs(random.nextDouble()));
+
+        assertThat(new RentalGenerator().generate(random(seed), status(seed, size))).isEqualTo(expected);
+    }
+
+    @Property(trials = 10)
+    public void rentals_generated_in_parallel_should_be_reproduced_from_the_seed(long seed) {
+        val sequential = IntStream.range(0, 1000).mapToObj(i -> rental(seed + i)).toList();
+        val parallel = IntStream.range(0, 1000).parallel().mapToObj(i -> rental(seed + i)).toList();
+
+        assertThat(parallel).isEqualTo(sequential);
+    }
+
+    private static Rental rental(long seed) {
+        return new RentalGenerator().generate(random(seed), status(seed, (int) Math.floorMod(seed, 100L)));
+    }
+
+    private static SourceOfRandomness random(long seed) {
+        return new SourceOfRandomness(new Random(seed));
+    }
+
+    private static SimpleGenerationStatus status(long seed, int size) {
+        return new SimpleGenerationStatus(new GeometricDistribution(), random(seed), size);
+    }
+}
@@ -0,0 +1,182 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.collection.Iterator;
+import io.vavr.collection.Vector;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Performance property: times an operation on generated inputs of doubling sizes, fits the slope of the time per
+ * operation against the size on a log-log scale, and fails when it grows faster than a declared {@link Bound}.
+ * <p>
+ * To stay meaningful on a loaded machine, sizes are warmed up then measured in interleaved rounds, so a burst of
+ * load slows every size alike, and each size keeps its fastest round: load only ever adds time. Rounds go on until
+ * no size got faster for a few rounds. Batches are just long enough for the timer whatever the size, so that small
+ * and large sizes are as likely to be descheduled, and the tolerance on the slope leaves room for constant costs
+ * and caches.
+ */
+public final class Growth<T> {
+    public static final double DEFAULT_TOLERANCE = 0.4;
+    public static final long DEFAULT_SEED = 42;
+
+    private static final int INPUTS = 8;
+    private static final int WARMUP_ROUNDS = 3;
+    private static final int MIN_ROUNDS = 9;
+    private static final int MAX_ROUNDS = 60;
+    private static final int STABLE_ROUNDS = 5;
+    private static final double IMPROVEMENT = 0.01;
+    private static final long BATCH_NANOS = 200_000;
+
+    private static volatile Object sink;
+
+    public enum Bound {
+        CONSTANT(0), LINEAR(1), QUADRATIC(2);
+
+        private final int exponent;
+
+        Bound(int exponent) {
+            this.exponent = exponent;
+        }
+    }
+
+    private final String name;
+    private final BiFunction<SourceOfRandomness, Integer, T> input;
+    private final Function<T, ?> operation;
+    private final int smallest;
+    private final int largest;
+    private final double tolerance;
+    private final long seed;
+    private int next;
+
+    private Growth(String name, BiFunction<SourceOfRandomness, Integer, T> input, Function<T, ?> operation,
+                   int smallest, int largest, double tolerance, long seed) {
+        if (smallest < 1 || largest < 4L * smallest) {
+            throw new IllegalArgumentException("Sizes must span at least 3 doublings from 1 : " + smallest + " to " + largest);
+        }
+        this.name = name;
+        this.input = input;
+        this.operation = operation;
+        this.smallest = smallest;
+        this.largest = largest;
+        this.tolerance = tolerance;
+        this.seed = seed;
+    }
+
+    /**
+     * @param input     generates an input of the given size, drawing from the given source only
+     * @param operation the operation timed, called several times on the same input
+     */
+    public static <T> Growth<T> of(String name, BiFunction<SourceOfRandomness, Integer, T> input, Function<T, ?> operation) {
+        return new Growth<>(name, input, operation, 64, 4096, DEFAULT_TOLERANCE, DEFAULT_SEED);
+    }
+
+    public Growth<T> sizes(int smallest, int largest) {
+        return new Growth<>(name, input, operation, smallest, largest, tolerance, seed);
+    }
+
+    public Growth<T> tolerance(double tolerance) {
+        return new Growth<>(name, input, operation, smallest, largest, tolerance, seed);
+    }
+
+    public Growth<T> seed(long seed) {
+        return new Growth<>(name, input, operation, smallest, largest, tolerance, seed);
+    }
+
+    /**
+     * @throws AssertionError with the measures when the operation grows faster than the bound
+     */
+    public Result assertAtMost(Bound bound) {
+        var result = measure(bound);
+        if (!result.withinBound()) {
+            throw new AssertionError(result);
+        }
+        return result;
+    }
+
+    public Result measure(Bound bound) {
+        var sizes = Vector.ofAll(Iterator.iterate(smallest, size -> size * 2).takeWhile(size -> size <= largest));
+        var inputs = sizes.map(size -> {
+            var random = new SourceOfRandomness(new Random(seed ^ size));
+            return Vector.fill(INPUTS, () -> input.apply(random, size));
+        });
+
+        var repetitions = new int[sizes.size()];
+        for (var round = 0; round < WARMUP_ROUNDS; round++) {
+            for (var i = 0; i < sizes.size(); i++) {
+                repetitions[i] = calibrate(inputs.get(i));
+            }
+        }
+        var fastest = new double[sizes.size()];
+        Arrays.fill(fastest, Double.POSITIVE_INFINITY);
+        var lastImprovement = 0;
+        for (var round = 0; round < MAX_ROUNDS && (round < MIN_ROUNDS || round - lastImprovement < STABLE_ROUNDS); round++) {
+            for (var i = 0; i < sizes.size(); i++) {
+                var nanos = (double) time(inputs.get(i), repetitions[i]) / repetitions[i];
+                if (nanos < fastest[i] * (1 - IMPROVEMENT)) {
+                    lastImprovement = round;
+                }
+                fastest[i] = Math.min(fastest[i], nanos);
+            }
+        }
+        var nanos = Vector.ofAll(fastest);
+        return new Result(name, bound, tolerance, sizes, nanos, slope(sizes, nanos));
+    }
+
+    /**
+     * Repetitions of the inputs taking at least {@link #BATCH_NANOS}, running them meanwhile.
+     */
+    private int calibrate(Vector<T> inputs) {
+        var repetitions = 1;
+        while (time(inputs, repetitions) < BATCH_NANOS && repetitions < Integer.MAX_VALUE / 2) {
+            repetitions *= 2;
+        }
+        return repetitions;
+    }
+
+    private long time(Vector<T> inputs, int repetitions) {
+        var start = System.nanoTime();
+        for (var i = 0; i < repetitions; i++) {
+            sink = operation.apply(inputs.get(next++ & (INPUTS - 1)));
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Least squares slope of the logarithm of the time against the logarithm of the size.
+     */
+    private static double slope(Vector<Integer> sizes, Vector<Double> nanos) {
+        var xs = sizes.map(Math::log);
+        var ys = nanos.map(Math::log);
+        var meanX = xs.average().get();
+        var meanY = ys.average().get();
+        var covariance = 0.0;
+        var variance = 0.0;
+        for (var i = 0; i < xs.size(); i++) {
+            covariance += (xs.get(i) - meanX) * (ys.get(i) - meanY);
+            variance += (xs.get(i) - meanX) * (xs.get(i) - meanX);
+        }
+        return covariance / variance;
+    }
+
+    /**
+     * @param slope growth exponent fitted over the sizes: 0 for constant time, 1 for linear, 2 for quadratic
+     */
+    public record Result(String name, Bound bound, double tolerance,
+                         Vector<Integer> sizes, Vector<Double> nanosPerOperation, double slope) {
+        public boolean withinBound() {
+            return slope <= bound.exponent + tolerance;
+        }
+
+        @Override
+        public String toString() {
+            var measures = sizes.zipWith(nanosPerOperation, (size, nanos) -> String.format("%n  n = %8d : %14.1f ns", size, nanos))
+                    .mkString();
+            return String.format("%s grows as n^%.2f, %s %s (n^%d + %.2f)%s",
+                    name, slope, withinBound() ? "within" : "beyond", bound, bound.exponent, tolerance, measures);
+        }
+    }
+}
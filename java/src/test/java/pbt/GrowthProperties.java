@@ -0,0 +1,58 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import lombok.val;
+import org.junit.Test;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pbt.Growth.Bound.CONSTANT;
+import static pbt.Growth.Bound.LINEAR;
+
+public class GrowthProperties {
+    @Test
+    public void constant_operation_should_be_within_constant() {
+        growthOf("first", values -> values[0]).assertAtMost(CONSTANT);
+    }
+
+    @Test
+    public void linear_operation_should_be_within_linear_but_beyond_constant() {
+        val growth = growthOf("sum", GrowthProperties::sum);
+
+        growth.assertAtMost(LINEAR);
+        val constant = growth.measure(CONSTANT);
+        assertThat(constant.withinBound()).as(constant.toString()).isFalse();
+    }
+
+    @Test
+    public void quadratic_operation_should_be_beyond_linear() {
+        val result = growthOf("ordered pairs", GrowthProperties::orderedPairs).sizes(64, 2048).measure(LINEAR);
+
+        assertThat(result.withinBound()).as(result.toString()).isFalse();
+    }
+
+    private static Growth<long[]> growthOf(String name, Function<long[], ?> operation) {
+        return Growth.of(name, GrowthProperties::values, operation).sizes(256, 8192);
+    }
+
+    private static long[] values(SourceOfRandomness random, int size) {
+        val values = new long[size];
+        for (var i = 0; i < size; i++) values[i] = random.nextLong();
+        return values;
+    }
+
+    private static long sum(long[] values) {
+        var sum = 0L;
+        for (var value : values) sum += value;
+        return sum;
+    }
+
+    private static long orderedPairs(long[] values) {
+        var pairs = 0L;
+        for (var x : values)
+            for (var y : values)
+                if (x < y) pairs++;
+        return pairs;
+    }
+}
@@ -0,0 +1,271 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.generator.Generator;
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.Tuple;
+import io.vavr.collection.Vector;
+import io.vavr.control.Option;
+import io.vavr.test.CheckResult;
+import io.vavr.test.Checkable;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs the trials of a property in shards on a {@link ForkJoinPool}.
+ * <p>
+ * Every trial draws its values from its own seed, derived from the master seed and the trial index only. The failure
+ * reported is always the one of the first failing trial, shrunk on the calling thread from that seed: the same master
+ * seed gives the same result, value and shrunk value whatever the parallelism, including on a single thread.
+ * <p>
+ * Generators are shared between shards and must not keep state between two generations.
+ */
+public final class ParallelRunner {
+    public static final int SHARD_TRIALS = 256;
+    public static final int SHARD_TRIES = 32;
+    public static final int DEFAULT_MAX_SIZE = 100;
+    public static final int MAX_SHRINKS = 1_000;
+    public static final int REPLAYED = -1;
+
+    private final ForkJoinPool pool;
+    private final long masterSeed;
+
+    public ParallelRunner(ForkJoinPool pool, long masterSeed) {
+        this.pool = pool;
+        this.masterSeed = masterSeed;
+    }
+
+    /**
+     * Runner on the common pool seeded with the {@code pbt.seed} system property, or a random seed.
+     */
+    public static ParallelRunner fromSystemProperties() {
+        return new ParallelRunner(ForkJoinPool.commonPool(), seedFromSystemProperties());
+    }
+
+    static long seedFromSystemProperties() {
+        return Long.getLong("pbt.seed", new Random().nextLong());
+    }
+
+    public long masterSeed() {
+        return masterSeed;
+    }
+
+    /**
+     * Seed of the given trial, a SplitMix64 mix of the master seed and the trial index.
+     */
+    public long trialSeed(int trial) {
+        var z = masterSeed + (trial + 1L) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Checks the property on {@code trials} values, the property failing by throwing (e.g. an assertion error).
+     */
+    public <T> Result<T> check(int trials, Generator<T> generator, Trial<T> property) {
+        var firstFailure = new AtomicInteger(Integer.MAX_VALUE);
+        var shards = Vector.range(0, (trials + SHARD_TRIALS - 1) / SHARD_TRIALS)
+                .map(shard -> pool.submit(() -> runShard(shard, trials, generator, property, firstFailure)))
+                .toJavaList();
+        shards.forEach(ForkJoinTask::join);
+
+        var failing = firstFailure.get();
+        if (failing == Integer.MAX_VALUE) {
+            return new Result<>(masterSeed, 0, trials, Option.none());
+        }
+        return new Result<>(masterSeed, 0, trials, Option.some(shrink(failing, generator, property)));
+    }
+
+    /**
+     * Replays the cases stored in the corpus for the property first, on the calling thread, then unless the corpus
+     * is {@link FailureCorpus#replayOnly() replay only} checks the property on {@code trials} values and stores the
+     * failure if any. A replayed case that fails again is shrunk and reported without running new trials; a case
+     * that passes stays in the corpus as a regression check.
+     */
+    public <T> Result<T> check(String name, int trials, Generator<T> generator, Trial<T> property, FailureCorpus corpus) {
+        var cases = corpus.cases(name);
+        for (var stored : cases) {
+            if (failureOf(property, generate(stored.seed(), stored.size(), generator)).isDefined()) {
+                var failure = shrink(REPLAYED, stored.seed(), stored.size(), generator, property);
+                return new Result<>(masterSeed, cases.size(), 0, Option.some(failure));
+            }
+        }
+        if (corpus.replayOnly()) {
+            return new Result<>(masterSeed, cases.size(), 0, Option.none());
+        }
+        var result = check(trials, generator, property);
+        result.failure().peek(failure -> corpus.store(name, failure));
+        return new Result<>(masterSeed, cases.size(), trials, result.failure());
+    }
+
+    /**
+     * Regenerates the value of one trial from its seed and checks the property on it, on the calling thread.
+     */
+    public <T> Option<Throwable> replay(int trial, Generator<T> generator, Trial<T> property) {
+        return failureOf(property, generate(trial, generator));
+    }
+
+    /**
+     * Splits the tries of a vavr property in shards of {@value #SHARD_TRIES}, each checked with its own
+     * {@link Random} seeded from the master seed and the shard index, and returns the result of the first
+     * shard that is not satisfied, or a satisfied result counting all the tries.
+     */
+    public CheckResult check(Checkable property, int size, int tries) {
+        var shards = Vector.range(0, (tries + SHARD_TRIES - 1) / SHARD_TRIES)
+                .map(shard -> pool.submit(() -> property.check(
+                        new Random(trialSeed(shard)), size, Math.min(SHARD_TRIES, tries - shard * SHARD_TRIES))))
+                .map(ForkJoinTask::join);
+
+        return shards.find(result -> !result.isSatisfied())
+                .getOrElse(() -> new ShardedCheckResult(shards));
+    }
+
+    /**
+     * @throws AssertionError with the master seed when the vavr property is not satisfied
+     */
+    public void assertSatisfied(Checkable property, int size, int tries) {
+        var result = check(property, size, tries);
+        if (!result.isSatisfied()) {
+            throw new AssertionError(String.format("%s (master seed %d)", result, masterSeed), result.error().getOrNull());
+        }
+    }
+
+    private <T> void runShard(int shard, int trials, Generator<T> generator, Trial<T> property, AtomicInteger firstFailure) {
+        var end = Math.min(trials, (shard + 1) * SHARD_TRIALS);
+        for (var trial = shard * SHARD_TRIALS; trial < end && trial < firstFailure.get(); trial++) {
+            if (failureOf(property, generate(trial, generator)).isDefined()) {
+                firstFailure.accumulateAndGet(trial, Math::min);
+                return;
+            }
+        }
+    }
+
+    private <T> T generate(int trial, Generator<T> generator) {
+        return generate(trialSeed(trial), trialSize(trial), generator);
+    }
+
+    private static <T> T generate(long seed, int size, Generator<T> generator) {
+        var random = new SourceOfRandomness(new Random(seed));
+        return generator.generate(random, new SimpleGenerationStatus(new GeometricDistribution(), random, size));
+    }
+
+    private static int trialSize(int trial) {
+        return trial % DEFAULT_MAX_SIZE;
+    }
+
+    private <T> Failure<T> shrink(int trial, Generator<T> generator, Trial<T> property) {
+        return shrink(trial, trialSeed(trial), trialSize(trial), generator, property);
+    }
+
+    private static <T> Failure<T> shrink(int trial, long seed, int size, Generator<T> generator, Trial<T> property) {
+        var original = generate(seed, size, generator);
+        var shrunk = original;
+        var error = failureOf(property, original).get();
+        var shrinks = 0;
+        var random = new SourceOfRandomness(new Random(seed));
+
+        for (var improved = true; improved && shrinks < MAX_SHRINKS; ) {
+            improved = false;
+            if (!generator.canShrink(shrunk)) {
+                break;
+            }
+            for (var candidate : generator.shrink(random, shrunk)) {
+                if (++shrinks > MAX_SHRINKS) {
+                    break;
+                }
+                var candidateError = failureOf(property, candidate);
+                if (candidateError.isDefined()) {
+                    shrunk = candidate;
+                    error = candidateError.get();
+                    improved = true;
+                    break;
+                }
+            }
+        }
+        return new Failure<>(trial, seed, size, original, shrunk, error);
+    }
+
+    private static <T> Option<Throwable> failureOf(Trial<T> property, T value) {
+        try {
+            property.verify(value);
+            return Option.none();
+        } catch (Throwable e) {
+            return Option.some(e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Trial<T> {
+        void verify(T value) throws Throwable;
+    }
+
+    /**
+     * @param trial index of the failing trial, {@link #REPLAYED} for a case replayed from a {@link FailureCorpus}
+     */
+    public record Failure<T>(int trial, long seed, int size, T original, T shrunk, Throwable error) {
+    }
+
+    /**
+     * @param replayed number of cases replayed from a {@link FailureCorpus} before the trials
+     * @param trials   number of trials run after them, 0 in corpus only mode or when a replayed case failed
+     */
+    public record Result<T>(long masterSeed, int replayed, int trials, Option<Failure<T>> failure) {
+        public void assertPassed() {
+            failure.peek(failure -> {
+                var where = failure.trial() == REPLAYED
+                        ? String.format("replaying the corpus (trial seed %d, size %d)", failure.seed(), failure.size())
+                        : String.format("at trial %d of %d (master seed %d, trial seed %d)", failure.trial(), trials, masterSeed, failure.seed());
+                throw new AssertionError(String.format("Property falsified %s%n  original: %s%n  shrunk: %s",
+                        where, failure.original(), failure.shrunk()),
+                        failure.error());
+            });
+        }
+    }
+
+    private record ShardedCheckResult(Vector<CheckResult> shards) implements CheckResult {
+        @Override
+        public boolean isSatisfied() {
+            return true;
+        }
+
+        @Override
+        public boolean isFalsified() {
+            return false;
+        }
+
+        @Override
+        public boolean isErroneous() {
+            return false;
+        }
+
+        @Override
+        public boolean isExhausted() {
+            return shards.exists(CheckResult::isExhausted);
+        }
+
+        @Override
+        public String propertyName() {
+            return shards.headOption().map(CheckResult::propertyName).getOrElse("");
+        }
+
+        @Override
+        public int count() {
+            return shards.map(CheckResult::count).sum().intValue();
+        }
+
+        @Override
+        public Option<Tuple> sample() {
+            return Option.none();
+        }
+
+        @Override
+        public Option<Error> error() {
+            return Option.none();
+        }
+    }
+}
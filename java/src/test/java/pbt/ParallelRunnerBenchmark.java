@@ -0,0 +1,66 @@
+package pbt;
+
+import bank.solution.WithdrawGenerator;
+import bank.solution.WithdrawProperties;
+import io.vavr.test.Arbitrary;
+import io.vavr.test.Property;
+import org.openjdk.jmh.annotations.*;
+import rentals.solution.RentalGenerator;
+import rentals.solution.RentalNewImplementationProperties;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static math.Calculator.add;
+
+/**
+ * Time to run many trials of existing properties with a {@link ParallelRunner} as the parallelism grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParallelRunnerBenchmark {
+    private static final long MASTER_SEED = 42;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private ForkJoinPool pool;
+    private ParallelRunner runner;
+
+    @Setup
+    public void setUp() {
+        pool = new ForkJoinPool(parallelism);
+        runner = new ParallelRunner(pool, MASTER_SEED);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public Object withdrawProperties() {
+        var properties = new WithdrawProperties();
+        // The account seed comes from the generated command, itself drawn from the trial source
+        return runner.check(10_000, new WithdrawGenerator(),
+                withdraw -> properties.withdraw_should_be_idem_potent(withdraw, withdraw.clientId().getLeastSignificantBits()));
+    }
+
+    @Benchmark
+    public Object rentalNewImplementationProperties() {
+        var properties = new RentalNewImplementationProperties();
+        return runner.check(2_000, Generators.listOf(new RentalGenerator()), properties::new_implementation_should_return_the_same_result);
+    }
+
+    @Benchmark
+    public Object calculatorPropertiesWithVavr() {
+        return runner.check(Property.def("Addition is commutative")
+                        .forAll(Arbitrary.integer(), Arbitrary.integer())
+                        .suchThat((x, y) -> add(x, y) == add(y, x)),
+                10_000, 100_000);
+    }
+}
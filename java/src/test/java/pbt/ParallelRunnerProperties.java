@@ -0,0 +1,126 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.GenerationStatus;
+import com.pholser.junit.quickcheck.generator.Generator;
+import com.pholser.junit.quickcheck.generator.InRange;
+import com.pholser.junit.quickcheck.generator.java.lang.IntegerGenerator;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
+import io.vavr.Tuple;
+import io.vavr.test.Arbitrary;
+import io.vavr.test.CheckResult;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ParallelRunner.Result;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(JUnitQuickcheck.class)
+public class ParallelRunnerProperties {
+    private static final int TRIALS = 2_000;
+
+    @Property(trials = 25)
+    public void failure_should_not_depend_on_the_parallelism(
+            long masterSeed,
+            @InRange(minInt = 2, maxInt = 8) int parallelism,
+            @InRange(minInt = 10, maxInt = 600) int limit) {
+        val sequential = onPool(1, pool -> sumBelow(new ParallelRunner(pool, masterSeed), limit));
+        val parallel = onPool(parallelism, pool -> sumBelow(new ParallelRunner(pool, masterSeed), limit));
+
+        assertThat(summary(parallel)).isEqualTo(summary(sequential));
+    }
+
+    @Property(trials = 25)
+    public void reported_trial_should_be_the_first_failing_one_and_its_shrunk_value_should_still_fail(
+            long masterSeed,
+            @InRange(minInt = 10, maxInt = 600) int limit) {
+        val runner = new ParallelRunner(ForkJoinPool.commonPool(), masterSeed);
+        val result = sumBelow(runner, limit);
+
+        result.failure().forEach(failure -> {
+            for (var trial = 0; trial < failure.trial(); trial++) {
+                assertThat(runner.replay(trial, Generators.listOf(new Digits()), sumIsBelow(limit))).isEmpty();
+            }
+            assertThat(runner.replay(failure.trial(), Generators.listOf(new Digits()), sumIsBelow(limit))).isNotEmpty();
+            assertThat(failure.shrunk().size()).isLessThanOrEqualTo(failure.original().size());
+            assertThat(failure.shrunk().stream().mapToLong(Math::abs).sum()).isGreaterThanOrEqualTo(limit);
+            assertThatThrownBy(result::assertPassed)
+                    .isInstanceOf(AssertionError.class)
+                    .hasMessageContaining("master seed " + masterSeed);
+        });
+    }
+
+    @Property(trials = 10)
+    public void passing_properties_should_run_every_trial(long masterSeed, @InRange(minInt = 1, maxInt = 8) int parallelism) {
+        val result = onPool(parallelism, pool -> new ParallelRunner(pool, masterSeed)
+                .check(TRIALS, new IntegerGenerator(), x -> assertThat(x + 0).isEqualTo(x)));
+
+        assertThat(result.failure()).isEmpty();
+        result.assertPassed();
+    }
+
+    @Property(trials = 10)
+    public void sharded_vavr_checks_should_not_depend_on_the_parallelism(
+            long masterSeed,
+            @InRange(minInt = 2, maxInt = 8) int parallelism,
+            @InRange(minInt = 1, maxInt = 10_000) int tries) {
+        val property = io.vavr.test.Property.def("Small integers")
+                .forAll(Arbitrary.integer())
+                .suchThat(x -> Math.abs(x) < 9_990);
+
+        val sequential = onPool(1, pool -> new ParallelRunner(pool, masterSeed).check(property, 10_000, tries));
+        val parallel = onPool(parallelism, pool -> new ParallelRunner(pool, masterSeed).check(property, 10_000, tries));
+
+        assertThat(summary(parallel)).isEqualTo(summary(sequential));
+        if (sequential.isSatisfied()) {
+            assertThat(sequential.count()).isEqualTo(tries);
+        }
+    }
+
+    private static Result<List<Integer>> sumBelow(ParallelRunner runner, int limit) {
+        return runner.check(TRIALS, Generators.listOf(new Digits()), sumIsBelow(limit));
+    }
+
+    private static ParallelRunner.Trial<List<Integer>> sumIsBelow(int limit) {
+        return list -> assertThat(list.stream().mapToLong(Math::abs).sum()).isLessThan(limit);
+    }
+
+    public static class Digits extends Generator<Integer> {
+        public Digits() {
+            super(Integer.class);
+        }
+
+        @Override
+        public Integer generate(SourceOfRandomness random, GenerationStatus status) {
+            return random.nextInt(0, 9);
+        }
+
+        @Override
+        public List<Integer> doShrink(SourceOfRandomness random, Integer larger) {
+            return larger == 0 ? List.of() : List.of(larger / 2, larger - 1);
+        }
+    }
+
+    private static Object summary(Result<?> result) {
+        return result.failure().map(f -> Tuple.of(f.trial(), f.seed(), f.original(), f.shrunk()));
+    }
+
+    private static Object summary(CheckResult result) {
+        return Tuple.of(result.isSatisfied(), result.count(), result.sample());
+    }
+
+    private static <T> T onPool(int parallelism, Function<ForkJoinPool, T> check) {
+        val pool = new ForkJoinPool(parallelism);
+        try {
+            return check.apply(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package pbt;
+
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.GenerationStatus;
+import com.pholser.junit.quickcheck.generator.Generator;
+import com.pholser.junit.quickcheck.internal.generator.GeneratorRepository;
+import com.pholser.junit.quickcheck.internal.generator.ServiceLoaderGeneratorSource;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
+import io.vavr.collection.Vector;
+import org.junit.AssumptionViolatedException;
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.InitializationError;
+import org.junit.runners.model.Statement;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * junit-quickcheck runner checking each {@link Property} with a {@link ParallelRunner}: the cases stored in the
+ * {@link FailureCorpus#fromSystemProperties() corpus} for the property are replayed before its trials, a new failure
+ * is stored, and with {@code -Dpbt.corpusOnly} only the stored cases are checked.
+ * <p>
+ * Arguments are generated as junit-quickcheck does, annotations included, but each trial from its own seed.
+ * Trials discarded by an assumption pass, the property being skipped when all are. Trials run on
+ * {@code pbt.parallelism} threads, as many as cores but at least {@value #MIN_DEFAULT_PARALLELISM} by default,
+ * and on a single thread for the properties and suites marked {@link Sequential}.
+ */
+public class ReplayFirst extends JUnitQuickcheck {
+    public static final String PARALLELISM_PROPERTY = "pbt.parallelism";
+    static final int MIN_DEFAULT_PARALLELISM = 2;
+
+    private final GeneratorRepository repository =
+            new GeneratorRepository(new SourceOfRandomness(new Random())).register(new ServiceLoaderGeneratorSource());
+    private final FailureCorpus corpus = FailureCorpus.fromSystemProperties();
+
+    public ReplayFirst(Class<?> type) throws InitializationError {
+        super(type);
+    }
+
+    @Override
+    public Statement methodBlock(FrameworkMethod method) {
+        var property = method.getAnnotation(Property.class);
+        if (property == null) {
+            return super.methodBlock(method);
+        }
+        var name = getTestClass().getName() + "." + method.getName();
+        var arguments = new ArgumentsGenerator(Vector.of(method.getMethod().getParameters()).map(repository::parameter));
+        return new Statement() {
+            @Override
+            public void evaluate() {
+                var pool = new ForkJoinPool(parallelism(method));
+                var satisfied = new AtomicInteger();
+                try {
+                    var result = new ParallelRunner(pool, ParallelRunner.seedFromSystemProperties())
+                            .check(name, property.trials(), arguments, values -> verify(method, values.values(), satisfied), corpus);
+                    result.assertPassed();
+                    if (satisfied.get() == 0 && result.replayed() + result.trials() > 0) {
+                        throw new AssumptionViolatedException("No values satisfied the property assumptions");
+                    }
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        };
+    }
+
+    private int parallelism(FrameworkMethod method) {
+        if (method.getAnnotation(Sequential.class) != null || getTestClass().getAnnotation(Sequential.class) != null) {
+            return 1;
+        }
+        return Integer.getInteger(PARALLELISM_PROPERTY,
+                Math.max(MIN_DEFAULT_PARALLELISM, Runtime.getRuntime().availableProcessors()));
+    }
+
+    private void verify(FrameworkMethod method, Object[] arguments, AtomicInteger satisfied) throws Throwable {
+        try {
+            method.invokeExplosively(createTest(), arguments);
+            satisfied.incrementAndGet();
+        } catch (AssumptionViolatedException e) {
+            // Discarded trial
+        }
+    }
+
+    private record Arguments(Object[] values) {
+        @Override
+        public String toString() {
+            return Arrays.deepToString(values);
+        }
+    }
+
+    /**
+     * Arguments of a property method, shrunk one argument at a time.
+     */
+    private static final class ArgumentsGenerator extends Generator<Arguments> {
+        private final Vector<Generator<?>> generators;
+
+        ArgumentsGenerator(Vector<Generator<?>> generators) {
+            super(Arguments.class);
+            this.generators = generators;
+        }
+
+        @Override
+        public Arguments generate(SourceOfRandomness random, GenerationStatus status) {
+            return new Arguments(generators.map(generator -> (Object) generator.generate(random, status)).toJavaArray());
+        }
+
+        @Override
+        public List<Arguments> doShrink(SourceOfRandomness random, Arguments larger) {
+            var shrinks = new ArrayList<Arguments>();
+            var values = larger.values();
+            for (var i = 0; i < values.length; i++) {
+                var generator = generators.get(i);
+                if (!generator.canShrink(values[i])) {
+                    continue;
+                }
+                for (var smaller : generator.shrink(random, values[i])) {
+                    var candidate = values.clone();
+                    candidate[i] = smaller;
+                    shrinks.add(new Arguments(candidate));
+                }
+            }
+            return shrinks;
+        }
+    }
+}
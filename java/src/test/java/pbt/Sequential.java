@@ -0,0 +1,15 @@
+package pbt;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the trials of a property, or of every property of a suite, on a single thread with {@link ReplayFirst}:
+ * for properties changing static state shared by their trials.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Sequential {
+}
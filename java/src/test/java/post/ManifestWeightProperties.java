@@ -0,0 +1,64 @@
+package post;
+
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class ManifestWeightProperties {
+    @Property
+    public void decimal_weights_should_be_parsed_as_double_parse_double_does(
+            @InRange(minLong = 0, maxLong = 999_999_999_999_999_999L) long digits,
+            @InRange(minInt = 0, maxInt = 20) int point,
+            @InRange(minInt = -30, maxInt = 30) int exponent,
+            boolean negative) {
+        val text = Long.toString(digits);
+        val decimal = (negative ? "-" : "") + text.substring(0, text.length() - Math.min(point, text.length())) + "."
+                + text.substring(text.length() - Math.min(point, text.length())) + (exponent == 0 ? "" : "e" + exponent);
+
+        assertParsedAsParseDouble(decimal);
+    }
+
+    @Property
+    public void shortest_representations_should_be_parsed_as_double_parse_double_does(double weight) {
+        assertParsedAsParseDouble(Double.toString(weight));
+        assertParsedAsParseDouble(" " + weight + "\r");
+    }
+
+    @Property
+    public void lines_made_of_number_characters_should_be_parsed_as_double_parse_double_does(
+            List<@InRange(minInt = 0, maxInt = 21) Integer> characters) {
+        assertParsedAsParseDouble(Vector.ofAll(characters).map(i -> " 0123456789.+-eEfdxXNI".charAt(i)).mkString());
+    }
+
+    @Test
+    public void other_spellings_should_be_parsed_as_double_parse_double_does() {
+        Vector.of("", " ", "1.5f", "-2d", "+.5", "5.", "0x1p3", "Infinity", "-Infinity", "NaN", "-0", "1e", ".", "-",
+                        "1e-400", "1e400", "0.000000000000000000000000001", "123456789012345678", "not a weight", "1 2")
+                .forEach(ManifestWeightProperties::assertParsedAsParseDouble);
+    }
+
+    private static void assertParsedAsParseDouble(String line) {
+        val bytes = ByteBuffer.wrap(("#" + line + "#").getBytes(ISO_8859_1));
+
+        assertThat(ManifestPricer.parseWeight(bytes, 1, bytes.limit() - 1)).as(line).isEqualTo(parseOrNaN(line));
+    }
+
+    private static Double parseOrNaN(String line) {
+        try {
+            return Double.parseDouble(line.trim());
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package post.solution;
+
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static post.PostalParcelService.calculateDeliveryCosts;
+import static post.PostalParcelService.validityMaskLength;
+
+@RunWith(ReplayFirst.class)
+public class BulkDeliveryCostsProperties {
+    @Property
+    public void bulk_costs_should_be_the_costs_of_each_parcel(
+            List<Long> weightBits,
+            List<@InRange(minDouble = -5, maxDouble = 25) Double> weights) {
+        val all = Vector.ofAll(weightBits).map(Double::longBitsToDouble).appendAll(weights)
+                .appendAll(Vector.of(0d, -0d, 20d, Math.nextUp(20d), Double.MIN_VALUE, Double.POSITIVE_INFINITY, Double.NaN));
+        val costs = new double[all.size()];
+        val validity = new long[validityMaskLength(all.size())];
+
+        val valid = calculateDeliveryCosts(all.toJavaStream().mapToDouble(Double::doubleValue).toArray(), costs, validity);
+
+        assertThat(valid).isEqualTo(all.count(weight -> calculateDeliveryCosts(weight).isRight()));
+        all.zipWithIndex().forEach(t -> {
+            assertThat(costs[t._2]).isEqualTo(calculateDeliveryCosts(t._1).getOrElse(Double.NaN));
+            assertThat((validity[t._2 >>> 6] >>> t._2 & 1) == 1).isEqualTo(calculateDeliveryCosts(t._1).isRight());
+        });
+    }
+
+    @Property
+    public void buffer_costs_should_be_the_array_costs_of_the_remaining_weights(
+            List<@InRange(minDouble = -5, maxDouble = 25) Double> weights,
+            @InRange(minInt = 0, maxInt = 70) int skipped,
+            boolean direct) {
+        val array = weights.stream().mapToDouble(Double::doubleValue).toArray();
+        val position = Math.min(skipped, array.length);
+        val buffer = direct
+                ? ByteBuffer.allocateDirect(array.length * Double.BYTES).asDoubleBuffer().put(array).position(position)
+                : DoubleBuffer.wrap(array).position(position);
+        val remaining = Arrays.copyOfRange(array, position, array.length);
+
+        val costs = new double[remaining.length];
+        val validity = new long[validityMaskLength(remaining.length)];
+        val expectedCosts = new double[remaining.length];
+        val expectedValidity = new long[validityMaskLength(remaining.length)];
+
+        assertThat(calculateDeliveryCosts(buffer, costs, validity))
+                .isEqualTo(calculateDeliveryCosts(remaining, expectedCosts, expectedValidity));
+        assertThat(costs).isEqualTo(expectedCosts);
+        assertThat(validity).isEqualTo(expectedValidity);
+        assertThat(buffer.position()).isEqualTo(position);
+    }
+
+    @Property
+    public void too_small_outputs_should_be_rejected(@InRange(minInt = 1, maxInt = 200) int parcels) {
+        val weights = new double[parcels];
+
+        assertThatThrownBy(() -> calculateDeliveryCosts(weights, new double[parcels - 1], new long[validityMaskLength(parcels)]))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calculateDeliveryCosts(weights, new double[parcels], new long[validityMaskLength(parcels) - 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
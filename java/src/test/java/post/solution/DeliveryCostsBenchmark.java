@@ -0,0 +1,72 @@
+package post.solution;
+
+import org.openjdk.jmh.annotations.*;
+import post.PostalParcel;
+import post.PostalParcelService;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static post.PostalParcelService.validityMaskLength;
+
+/**
+ * Pricing a manifest of weights one {@code Option<PostalParcel>} or one weight at a time compared with the
+ * bulk API, from an array and from a direct buffer. A quarter of the weights are invalid and prices are unpredictable.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DeliveryCostsBenchmark {
+    @Param({"100000"})
+    private int parcels;
+
+    private double[] weights;
+    private DoubleBuffer directWeights;
+    private double[] costs;
+    private long[] validity;
+
+    @Setup
+    public void setUp() {
+        var random = new Random(42);
+        weights = new double[parcels];
+        for (var i = 0; i < parcels; i++) {
+            weights[i] = random.nextDouble() * 40 - 10;
+        }
+        directWeights = ByteBuffer.allocateDirect(parcels * Double.BYTES).order(ByteOrder.nativeOrder())
+                .asDoubleBuffer().put(weights).flip();
+        costs = new double[parcels];
+        validity = new long[validityMaskLength(parcels)];
+    }
+
+    @Benchmark
+    public double[] perParcel() {
+        for (var i = 0; i < parcels; i++) {
+            costs[i] = PostalParcelService.calculateDeliveryCosts(PostalParcel.from(weights[i])).getOrElse(Double.NaN);
+        }
+        return costs;
+    }
+
+    @Benchmark
+    public double[] perWeight() {
+        for (var i = 0; i < parcels; i++) {
+            costs[i] = PostalParcelService.calculateDeliveryCosts(weights[i]).getOrElse(Double.NaN);
+        }
+        return costs;
+    }
+
+    @Benchmark
+    public int bulkArray() {
+        return PostalParcelService.calculateDeliveryCosts(weights, costs, validity);
+    }
+
+    @Benchmark
+    public int bulkDirectBuffer() {
+        return PostalParcelService.calculateDeliveryCosts(directWeights, costs, validity);
+    }
+}
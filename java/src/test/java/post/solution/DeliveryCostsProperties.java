@@ -0,0 +1,25 @@
+package post.solution;
+
+import com.pholser.junit.quickcheck.Property;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import post.ParcelRejection.InvalidWeight;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static post.PostalParcel.from;
+import static post.PostalParcelService.calculateDeliveryCosts;
+
+@RunWith(ReplayFirst.class)
+public class DeliveryCostsProperties {
+    @Property
+    public void typed_delivery_costs_should_match_the_optional_ones(double weight) {
+        assertThat(calculateDeliveryCosts(weight).toOption())
+                .isEqualTo(calculateDeliveryCosts(from(weight)));
+    }
+
+    @Property
+    public void invalid_weights_should_be_rejected_with_their_weight(int weight) {
+        assertThat(calculateDeliveryCosts(-Math.abs((double) weight)).getLeft())
+                .isEqualTo(new InvalidWeight(-Math.abs((double) weight)));
+    }
+}
@@ -0,0 +1,85 @@
+package post.solution;
+
+import org.openjdk.jmh.annotations.*;
+import post.ManifestPricer;
+import post.ManifestPricer.Format;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * End-to-end pricing of generated manifests of several GB with {@link ManifestPricer} on all cores.
+ * Divide the manifest size by the time of an operation for the throughput. Use {@code -p manifestMegabytes=...}
+ * for smaller runs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class ManifestPricerBenchmark {
+    @Param({"4096"})
+    private int manifestMegabytes;
+
+    @Param({"BINARY", "CSV"})
+    private Format format;
+
+    private Path directory;
+    private Path manifest;
+    private ManifestPricer pricer;
+
+    @Setup
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("manifest");
+        manifest = directory.resolve("manifest");
+        pricer = new ManifestPricer(ForkJoinPool.commonPool());
+
+        var random = new Random(42);
+        var size = (long) manifestMegabytes << 20;
+        var buffer = ByteBuffer.allocate(1 << 20).order(ByteOrder.LITTLE_ENDIAN);
+        try (var output = FileChannel.open(manifest, CREATE_NEW, WRITE)) {
+            for (var written = 0L; written < size; written += buffer.limit()) {
+                buffer.clear();
+                while (buffer.remaining() >= 16) {
+                    var weight = Math.round((random.nextDouble() * 45 - 5) * 1000) / 1000d;
+                    if (format == Format.BINARY) {
+                        buffer.putDouble(weight);
+                    } else {
+                        buffer.put((weight + "\n").getBytes(ISO_8859_1));
+                    }
+                }
+                buffer.flip();
+                while (buffer.hasRemaining()) {
+                    output.write(buffer);
+                }
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        try (var files = Files.list(directory)) {
+            for (var file : (Iterable<Path>) files::iterator) {
+                Files.delete(file);
+            }
+        }
+        Files.delete(directory);
+    }
+
+    @Benchmark
+    public ManifestPricer.Report price() throws IOException {
+        return pricer.price(manifest, format, directory.resolve("costs"), directory.resolve("invalid"));
+    }
+}
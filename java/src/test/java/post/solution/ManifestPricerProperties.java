@@ -0,0 +1,125 @@
+package post.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.Vector;
+import lombok.SneakyThrows;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import post.ManifestPricer;
+import post.ManifestPricer.Format;
+import post.ManifestPricer.Report;
+import post.Tariff;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static post.PostalParcelService.calculateDeliveryCosts;
+
+@RunWith(ReplayFirst.class)
+public class ManifestPricerProperties {
+    @Property(trials = 50)
+    public void binary_manifest_costs_should_be_the_costs_of_each_parcel(
+            List<@InRange(minDouble = -5, maxDouble = 400) Double> weights,
+            List<Long> weightBits,
+            @From(TariffGenerator.class) Tariff tariff,
+            @InRange(minInt = 1, maxInt = 64) int chunkParcels,
+            @InRange(minInt = 1, maxInt = 4) int parallelism) {
+        val all = Vector.ofAll(weights).appendAll(Vector.ofAll(weightBits).map(Double::longBitsToDouble));
+        val bytes = ByteBuffer.allocate(all.size() * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        all.forEach(bytes::putDouble);
+
+        assertPricedAsEachParcel(bytes.array(), Format.BINARY, all, tariff, chunkParcels, parallelism);
+    }
+
+    @Property(trials = 50)
+    public void csv_manifest_costs_should_be_the_costs_of_each_line(
+            List<@InRange(minDouble = -5, maxDouble = 400) Double> weights,
+            List<@InRange(minInt = 0, maxInt = 4) Integer> noises,
+            boolean trailingLineFeed,
+            @From(TariffGenerator.class) Tariff tariff,
+            @InRange(minInt = 1, maxInt = 64) int chunkParcels,
+            @InRange(minInt = 1, maxInt = 4) int parallelism) {
+        val lines = Vector.ofAll(weights).zipWithIndex().map(t -> switch (noises.isEmpty() ? 0 : noises.get(t._2 % noises.size())) {
+            case 1 -> " " + t._1 + "\r";
+            case 2 -> "";
+            case 3 -> "not a weight";
+            default -> Double.toString(t._1);
+        });
+        val expected = lines.map(line -> line.isBlank() || line.equals("not a weight") ? Double.NaN : Double.parseDouble(line.trim()));
+        // Without a line feed after it, a blank last line would be no line at all
+        val text = lines.mkString("\n") + (!lines.isEmpty() && (trailingLineFeed || lines.last().isEmpty()) ? "\n" : "");
+
+        assertPricedAsEachParcel(text.getBytes(ISO_8859_1), Format.CSV,
+                text.isEmpty() ? Vector.empty() : expected, tariff, chunkParcels, parallelism);
+    }
+
+    @Property(trials = 10)
+    @SneakyThrows
+    public void binary_manifest_of_partial_doubles_should_be_rejected(
+            @InRange(minInt = 0, maxInt = 64) int parcels,
+            @InRange(minInt = 1, maxInt = 7) int trailingBytes) {
+        val directory = Files.createTempDirectory("manifest");
+        val manifest = Files.write(directory.resolve("manifest"), new byte[parcels * Double.BYTES + trailingBytes]);
+        val pool = new ForkJoinPool(1);
+        try {
+            assertThatThrownBy(() -> new ManifestPricer(pool, Tariff.DEFAULT, 8)
+                    .price(manifest, Format.BINARY, directory.resolve("costs"), directory.resolve("invalid")))
+                    .isInstanceOf(IOException.class)
+                    .hasMessageContaining("whole doubles");
+            assertThat(directory.resolve("costs")).doesNotExist();
+        } finally {
+            pool.shutdown();
+            Files.deleteIfExists(manifest);
+            Files.deleteIfExists(directory);
+        }
+    }
+
+    @SneakyThrows
+    private static void assertPricedAsEachParcel(byte[] manifestBytes, Format format, Vector<Double> weights,
+                                                 Tariff tariff, int chunkParcels, int parallelism) {
+        val directory = Files.createTempDirectory("manifest");
+        val manifest = Files.write(directory.resolve("manifest"), manifestBytes);
+        val costs = directory.resolve("costs");
+        val invalid = directory.resolve("invalid");
+        val pool = new ForkJoinPool(parallelism);
+        try {
+            val report = new ManifestPricer(pool, tariff, chunkParcels).price(manifest, format, costs, invalid);
+            val expectedCosts = weights.map(weight -> calculateDeliveryCosts(weight, tariff).getOrElse(Double.NaN));
+            val expectedInvalid = weights.zipWithIndex()
+                    .filter(t -> calculateDeliveryCosts(t._1, tariff).isLeft())
+                    .map(t -> t._2.longValue());
+
+            assertThat(report).isEqualTo(new Report(weights.size(), expectedInvalid.size()));
+            assertThat(doubles(costs)).isEqualTo(expectedCosts);
+            assertThat(longs(invalid)).isEqualTo(expectedInvalid);
+        } finally {
+            pool.shutdown();
+            for (val file : List.of(manifest, costs, invalid, directory)) {
+                Files.deleteIfExists(file);
+            }
+        }
+    }
+
+    @SneakyThrows
+    private static Vector<Double> doubles(Path file) {
+        val buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+        return Vector.range(0, buffer.limit()).map(buffer::get);
+    }
+
+    @SneakyThrows
+    private static Vector<Long> longs(Path file) {
+        val buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN).asLongBuffer();
+        return Vector.range(0, buffer.limit()).map(buffer::get);
+    }
+}
@@ -1,8 +1,8 @@
 package post.solution;
 
 import com.pholser.junit.quickcheck.Property;
-import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
 import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
 
 import static io.vavr.API.Some;
 import static io.vavr.control.Option.none;
@@ -12,7 +12,7 @@ import static org.junit.Assume.assumeThat;
 import static post.PostalParcel.*;
 import static post.PostalParcelService.calculateDeliveryCosts;
 
-@RunWith(JUnitQuickcheck.class)
+@RunWith(ReplayFirst.class)
 public class PostalParcelProperties {
     @Property
     public void delivery_costs_should_be_max_when_weight_is_greater_than_MaxWeight(double weight) {
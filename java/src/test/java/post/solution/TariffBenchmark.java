@@ -0,0 +1,53 @@
+package post.solution;
+
+import org.openjdk.jmh.annotations.*;
+import post.Tariff;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a {@link Tariff} lookup as the number of bands grows, across the switch from the branch-free
+ * linear count to the binary search. Weights are spread uniformly over the bands.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TariffBenchmark {
+    private static final int WEIGHTS = 1024;
+
+    @Param({"2", "4", "8", "9", "10", "64", "1024", "65536"})
+    private int bands;
+
+    private Tariff tariff;
+    private double[] weights;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var limits = new double[bands - 1];
+        var costs = new double[bands];
+        for (var i = 0; i < bands; i++) {
+            costs[i] = 1.99 + i * 0.5;
+            if (i < bands - 1) {
+                limits[i] = (i + 1) * 0.25;
+            }
+        }
+        tariff = Tariff.of(limits, costs);
+
+        var random = new Random(42);
+        weights = new double[WEIGHTS];
+        for (var i = 0; i < WEIGHTS; i++) {
+            weights[i] = Math.nextUp(random.nextDouble() * bands * 0.25);
+        }
+    }
+
+    @Benchmark
+    public double costsOf() {
+        next = (next + 1) & (WEIGHTS - 1);
+        return tariff.costsOf(weights[next]);
+    }
+}
@@ -0,0 +1,25 @@
+package post.solution;
+
+import com.pholser.junit.quickcheck.generator.GenerationStatus;
+import com.pholser.junit.quickcheck.generator.Generator;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import post.Tariff;
+
+public class TariffGenerator extends Generator<Tariff> {
+    public TariffGenerator() {
+        super(Tariff.class);
+    }
+
+    @Override
+    public Tariff generate(SourceOfRandomness sourceOfRandomness, GenerationStatus generationStatus) {
+        var bands = sourceOfRandomness.nextInt(1, 40);
+        var weightLimits = new double[bands - 1];
+        var costs = new double[bands];
+        costs[0] = sourceOfRandomness.nextDouble(0, 5);
+        for (var i = 1; i < bands; i++) {
+            weightLimits[i - 1] = (i == 1 ? 0 : weightLimits[i - 2]) + sourceOfRandomness.nextDouble(0.001, 10);
+            costs[i] = costs[i - 1] + (sourceOfRandomness.nextBoolean() ? 0 : sourceOfRandomness.nextDouble(0, 3));
+        }
+        return Tariff.of(weightLimits, costs);
+    }
+}
@@ -0,0 +1,149 @@
+package post.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import pbt.Sequential;
+import post.ParcelRejection.UnknownZone;
+import post.PostalParcelService;
+import post.Tariff;
+import post.Tariffs;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assume.assumeTrue;
+import static post.PostalParcel.*;
+import static post.PostalParcelService.calculateDeliveryCosts;
+import static post.PostalParcelService.validityMaskLength;
+
+@RunWith(ReplayFirst.class)
+public class TariffProperties {
+    @Property
+    public void default_tariff_should_price_as_the_two_constants(double weight) {
+        assumeTrue(weight > 0);
+        assertThat(Tariff.DEFAULT.costsOf(weight))
+                .isEqualTo(weight > MAX_WEIGHT ? MAX_DELIVERY_COSTS : MIN_DELIVERY_COSTS);
+    }
+
+    @Property
+    public void heavier_parcels_should_never_cost_less(
+            @From(TariffGenerator.class) Tariff tariff,
+            @InRange(minDouble = 0, maxDouble = 400) double weight,
+            @InRange(minDouble = 0, maxDouble = 400) double otherWeight) {
+        assumeTrue(weight > 0 && otherWeight > 0);
+        val lighter = Math.min(weight, otherWeight);
+        val heavier = Math.max(weight, otherWeight);
+
+        assertThat(tariff.costsOf(lighter)).isLessThanOrEqualTo(tariff.costsOf(heavier));
+    }
+
+    @Property
+    public void weight_limits_should_belong_to_the_band_below_them(@From(TariffGenerator.class) Tariff tariff) {
+        val limits = tariff.weightLimits();
+        val costs = tariff.costs();
+
+        assertThat(tariff.costsOf(Double.MIN_VALUE)).isEqualTo(costs[0]);
+        assertThat(tariff.costsOf(Double.POSITIVE_INFINITY)).isEqualTo(costs[costs.length - 1]);
+        for (var i = 0; i < limits.length; i++) {
+            assertThat(tariff.costsOf(limits[i])).isEqualTo(costs[i]);
+            assertThat(tariff.costsOf(Math.nextUp(limits[i]))).isEqualTo(costs[i + 1]);
+        }
+    }
+
+    @Property
+    public void costs_should_be_the_ones_of_the_first_band_containing_the_weight(
+            @From(TariffGenerator.class) Tariff tariff,
+            @InRange(minDouble = 0, maxDouble = 400) double weight) {
+        assumeTrue(weight > 0);
+        val limits = tariff.weightLimits();
+        var band = 0;
+        while (band < limits.length && limits[band] < weight) band++;
+
+        assertThat(tariff.costsOf(weight)).isEqualTo(tariff.costs()[band]);
+    }
+
+    @Property
+    public void tariffs_with_decreasing_costs_or_limits_should_be_rejected(
+            @From(TariffGenerator.class) Tariff tariff,
+            @InRange(minInt = 0, maxInt = 39) int index) {
+        val limits = tariff.weightLimits();
+        val costs = tariff.costs();
+        assumeTrue(limits.length > 0);
+        val band = index % limits.length;
+
+        val cheaper = costs.clone();
+        cheaper[band + 1] = Math.nextDown(costs[band]);
+        assertThatThrownBy(() -> Tariff.of(limits, cheaper)).isInstanceOf(IllegalArgumentException.class);
+
+        val unordered = limits.clone();
+        unordered[band] = band == 0 ? 0 : limits[band - 1];
+        assertThatThrownBy(() -> Tariff.of(unordered, costs)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Property
+    public void bulk_costs_should_follow_the_given_tariff(
+            @From(TariffGenerator.class) Tariff tariff,
+            List<@InRange(minDouble = -5, maxDouble = 400) Double> weights) {
+        val array = weights.stream().mapToDouble(Double::doubleValue).toArray();
+        val costs = new double[array.length];
+        calculateDeliveryCosts(array, costs, new long[validityMaskLength(array.length)], tariff);
+
+        Vector.ofAll(weights).zipWithIndex().forEach(t ->
+                assertThat(costs[t._2]).isEqualTo(calculateDeliveryCosts(t._1, tariff).getOrElse(Double.NaN)));
+    }
+
+    @Property(trials = 20)
+    @Sequential
+    public void prices_should_come_from_a_single_tariff_while_tariffs_are_swapped(
+            @From(TariffGenerator.class) Tariff first,
+            @From(TariffGenerator.class) Tariff second) {
+        val tariffs = new Tariffs().publish("zone", first);
+        val weights = Vector.range(1, 1001).map(i -> i * 0.4).toJavaStream().mapToDouble(Double::doubleValue).toArray();
+        val pricedByFirst = price(weights, first);
+        val pricedBySecond = price(weights, second);
+        val done = new AtomicBoolean();
+        PostalParcelService.useTariff(first);
+
+        val swapper = CompletableFuture.runAsync(() -> {
+            for (var i = 0; !done.get(); i++) {
+                tariffs.publish("zone", i % 2 == 0 ? second : first);
+                PostalParcelService.useTariff(i % 2 == 0 ? second : first);
+            }
+        });
+        try {
+            for (var round = 0; round < 50; round++) {
+                val costs = new double[weights.length];
+                calculateDeliveryCosts(weights, costs, new long[validityMaskLength(weights.length)]);
+                assertThat(costs).satisfiesAnyOf(
+                        c -> assertThat(c).isEqualTo(pricedByFirst),
+                        c -> assertThat(c).isEqualTo(pricedBySecond));
+                val weight = weights[round];
+                assertThat(tariffs.calculateDeliveryCosts("zone", weight).get())
+                        .isIn(first.costsOf(weight), second.costsOf(weight));
+            }
+        } finally {
+            done.set(true);
+            swapper.join();
+            PostalParcelService.useTariff(Tariff.DEFAULT);
+        }
+    }
+
+    @Property
+    public void unknown_zones_should_be_rejected(String zone, double weight) {
+        assertThat(new Tariffs().calculateDeliveryCosts(zone, weight).getLeft()).isEqualTo(new UnknownZone(zone));
+    }
+
+    private static double[] price(double[] weights, Tariff tariff) {
+        val costs = new double[weights.length];
+        calculateDeliveryCosts(weights, costs, new long[validityMaskLength(weights.length)], tariff);
+        return costs;
+    }
+}
@@ -0,0 +1,61 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import rentals.Rental;
+import rentals.RentalCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Polling a statement already calculated and appending one rental to it, compared with calculating the
+ * statement of all the rentals from scratch.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MemoizedRentalCalculatorBenchmark {
+    @Param({"100", "1000"})
+    private int rentalCount;
+
+    private List<Rental> rentals;
+    private List<Rental> added;
+    private RentalCalculator calculated;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new RentalGenerator();
+        rentals = new ArrayList<>(rentalCount);
+        for (var i = 0; i < rentalCount; i++) {
+            rentals.add(generator.generate(random, status));
+        }
+        added = List.of(generator.generate(random, status));
+        calculated = new RentalCalculator(rentals);
+        calculated.calculateRental();
+    }
+
+    @Benchmark
+    public Object fromScratch() {
+        return new RentalCalculator(rentals).calculateRental();
+    }
+
+    @Benchmark
+    public Object poll() {
+        return calculated.calculateRental();
+    }
+
+    @Benchmark
+    public Object appendOne() {
+        return calculated.append(added).calculateRental();
+    }
+}
@@ -0,0 +1,66 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import io.vavr.collection.Vector;
+import io.vavr.control.Either;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.RentalCalculator;
+import rentals.RentalTotal;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.Assume.assumeFalse;
+
+@RunWith(ReplayFirst.class)
+public class MemoizedRentalCalculatorProperties {
+    @Property
+    public void appending_rentals_should_give_the_statement_of_all_the_rentals(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            List<@From(RentalGenerator.class) Rental> added,
+            boolean calculatedBefore) {
+        val calculator = new RentalCalculator(rentals);
+        if (calculatedBefore) {
+            calculator.calculateRental();
+        }
+        val all = Vector.ofAll(rentals).appendAll(added);
+        val appended = calculator.append(added);
+
+        assertThat(appended.calculateRental()).isEqualTo(StatementPrinter.calculateRental(all));
+        assertThat(appended.getAmount()).isEqualTo(new RentalCalculator(all.asJava()).getAmount());
+        assertThat(appended.getRentals()).isEqualTo(all.asJava());
+        assertThat(calculator.getRentals()).isEqualTo(rentals);
+    }
+
+    @Property
+    public void appending_to_a_parallel_calculator_should_keep_the_exact_total(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            List<@From(RentalGenerator.class) Rental> added) {
+        val appended = RentalCalculator.parallel(rentals, ForkJoinPool.commonPool()).append(added);
+
+        assertThat(appended.getAmount())
+                .isEqualTo(RentalTotal.exact(Vector.ofAll(rentals).appendAll(added).asJava()));
+    }
+
+    @Property
+    public void statement_should_be_calculated_once_whatever_the_number_of_threads_asking_for_it(
+            List<@From(RentalGenerator.class) Rental> rentals) {
+        assumeFalse(rentals.isEmpty());
+        val calculator = new RentalCalculator(rentals);
+        val statements = Vector.range(0, 4)
+                .map(i -> CompletableFuture.supplyAsync(calculator::calculateRental))
+                .map(CompletableFuture::join);
+
+        assertThat(statements.distinct()).hasSize(1);
+        assertThat(statements.map(Either::get).distinctBy(System::identityHashCode))
+                .hasSize(1);
+        assertThat(calculator.calculateRental().get()).isSameAs(statements.head().get());
+        assertThat(calculator.isCalculated()).isTrue();
+    }
+}
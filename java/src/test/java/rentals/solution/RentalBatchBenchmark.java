@@ -0,0 +1,129 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import rentals.Rental;
+import rentals.RentalBatch;
+import rentals.RentalCalculator;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Totals and statements from a {@link RentalBatch}, on and off heap, compared with a {@code List<Rental>}.
+ * Rentals are spread over 10 years with 100 distinct labels.
+ * <p>
+ * Run {@link #main(String[])} to print the memory footprint of both before the throughput:
+ * {@code mvn -Pbenchmarks test-compile exec:exec -Djmh.main=rentals.solution.RentalBatchBenchmark}
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RentalBatchBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+    private static final int FOOTPRINT_RENTALS = 1_000_000;
+
+    @Param({"10000"})
+    private int rentalCount;
+
+    private List<Rental> rentals;
+    private RentalBatch heapBatch;
+    private RentalBatch offHeapBatch;
+
+    @Setup
+    public void setUp() {
+        rentals = rentals(rentalCount);
+        heapBatch = RentalBatch.of(rentals);
+        var builder = RentalBatch.builder().offHeap();
+        rentals.forEach(builder::add);
+        offHeapBatch = builder.build();
+    }
+
+    @Benchmark
+    public double listTotal() {
+        var total = 0.0;
+        for (var rental : rentals) {
+            total += rental.amount();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double heapBatchTotal() {
+        return RentalCalculator.total(heapBatch);
+    }
+
+    @Benchmark
+    public double offHeapBatchTotal() {
+        return RentalCalculator.total(offHeapBatch);
+    }
+
+    @Benchmark
+    public Object listStatement() {
+        return new RentalCalculator(rentals).calculateRental(Writer.nullWriter());
+    }
+
+    @Benchmark
+    public Object heapBatchStatement() {
+        return RentalCalculator.statement(heapBatch, Writer.nullWriter());
+    }
+
+    @Benchmark
+    public Object offHeapBatchStatement() {
+        return RentalCalculator.statement(offHeapBatch, Writer.nullWriter());
+    }
+
+    private static List<Rental> rentals(int count) {
+        var random = new SourceOfRandomness(new Random(42));
+        var labels = new String[100];
+        for (var i = 0; i < labels.length; i++) {
+            labels[i] = "Rental #" + i;
+        }
+        var rentals = new ArrayList<Rental>(count);
+        for (var i = 0; i < count; i++) {
+            rentals.add(new Rental(FIRST_DAY.plusDays(random.nextInt(0, 3650)),
+                    labels[random.nextInt(labels.length)],
+                    Math.abs(random.nextDouble())));
+        }
+        return rentals;
+    }
+
+    private static long usedHeap() {
+        for (var i = 0; i < 5; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    /**
+     * @param args JMH options
+     */
+    public static void main(String[] args) throws RunnerException, CommandLineOptionException {
+        var before = usedHeap();
+        var rentals = rentals(FOOTPRINT_RENTALS);
+        var withList = usedHeap();
+        var batch = RentalBatch.of(rentals);
+        var withBatch = usedHeap();
+        System.out.printf("%d rentals: List<Rental> %d bytes, RentalBatch %d bytes (%d labels)%n",
+                rentals.size(), withList - before, withBatch - withList, batch.labelCount());
+
+        new Runner(new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .include(RentalBatchBenchmark.class.getSimpleName())
+                .build())
+                .run();
+    }
+}
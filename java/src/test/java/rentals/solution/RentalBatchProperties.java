@@ -0,0 +1,83 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.RentalBatch;
+import rentals.RentalCalculator;
+import rentals.RentalRejection;
+
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@RunWith(ReplayFirst.class)
+public class RentalBatchProperties {
+    @Property
+    public void statement_of_a_batch_should_be_the_printed_statement_of_its_rentals(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            boolean offHeap) {
+        val inRange = withinBatchRange(rentals);
+
+        assertThat(RentalCalculator.statement(batchOf(inRange, offHeap)).mapLeft(RentalRejection::message))
+                .isEqualTo(StatementPrinter.calculateRental(inRange));
+    }
+
+    @Property
+    public void batch_should_total_and_stream_as_a_calculator_of_its_rentals(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            boolean offHeap) {
+        val inRange = withinBatchRange(rentals);
+        val batch = batchOf(inRange, offHeap);
+        val calculator = new RentalCalculator(inRange.asJava());
+
+        assertThat(RentalCalculator.total(batch)).isEqualTo(calculator.getAmount());
+        assertThat(RentalCalculator.statement(batch, new StringWriter()).map(StringWriter::toString))
+                .isEqualTo(calculator.tryCalculateRental());
+    }
+
+    @Property
+    public void batch_should_give_back_its_rentals_and_share_their_labels(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            boolean offHeap) {
+        val inRange = withinBatchRange(rentals).flatMap(rental -> Vector.of(rental, rental));
+        val batch = batchOf(inRange, offHeap);
+
+        assertThat(batch.isOffHeap()).isEqualTo(offHeap);
+        assertThat(Vector.range(0, batch.size()).map(batch::rental)).isEqualTo(inRange);
+        assertThat(batch.labelCount()).isEqualTo(inRange.map(Rental::label).distinct().size());
+        assertThat(Vector.range(0, batch.size()).map(i -> batch.labelOf(batch.labelId(i))))
+                .isEqualTo(inRange.map(Rental::label));
+    }
+
+    @Property
+    public void dates_beyond_int_epoch_days_should_be_rejected(@From(RentalGenerator.class) Rental rental) {
+        val date = LocalDate.ofEpochDay(rental.date().toEpochDay() > 0
+                ? Integer.MAX_VALUE + 1L + rental.date().getDayOfYear()
+                : Integer.MIN_VALUE - 1L - rental.date().getDayOfYear());
+
+        assertThatThrownBy(() -> RentalBatch.builder().add(date, rental.label(), rental.amount()))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static Vector<Rental> withinBatchRange(List<Rental> rentals) {
+        return Vector.ofAll(rentals)
+                .map(rental -> new Rental(LocalDate.ofEpochDay((int) rental.date().toEpochDay()), rental.label(), rental.amount()));
+    }
+
+    private static RentalBatch batchOf(Vector<Rental> rentals, boolean offHeap) {
+        val builder = RentalBatch.builder();
+        if (offHeap) {
+            builder.offHeap();
+        }
+        rentals.forEach(builder::add);
+        return builder.build();
+    }
+}
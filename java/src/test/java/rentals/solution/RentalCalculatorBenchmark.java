@@ -0,0 +1,54 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.collection.Vector;
+import org.openjdk.jmh.annotations.*;
+import rentals.Rental;
+import rentals.RentalCalculator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Statement of the same rentals by {@link RentalCalculator} and by the {@link StatementPrinter} reference
+ * implementation across list sizes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RentalCalculatorBenchmark {
+    @Param({"10", "100", "1000"})
+    private int rentalCount;
+
+    private List<Rental> rentals;
+    private Vector<Rental> rentalSeq;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new RentalGenerator();
+        rentals = new ArrayList<>(rentalCount);
+        for (var i = 0; i < rentalCount; i++) {
+            rentals.add(generator.generate(random, status));
+        }
+        rentalSeq = Vector.ofAll(rentals);
+    }
+
+    @Benchmark
+    public Object rentalCalculator() {
+        return new RentalCalculator(rentals).calculateRental();
+    }
+
+    @Benchmark
+    public Object statementPrinter() {
+        return StatementPrinter.calculateRental(rentalSeq);
+    }
+}
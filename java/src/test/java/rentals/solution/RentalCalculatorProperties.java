@@ -0,0 +1,23 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.RentalCalculator;
+import rentals.RentalRejection;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class RentalCalculatorProperties {
+    @Property
+    public void typed_statement_should_match_the_string_one(
+            List<@From(RentalGenerator.class) Rental> rentals) {
+        assertThat(new RentalCalculator(rentals).tryCalculateRental().mapLeft(RentalRejection::message))
+                .isEqualTo(new RentalCalculator(rentals).calculateRental());
+    }
+}
@@ -2,15 +2,13 @@ package rentals.solution;
 
 import com.pholser.junit.quickcheck.generator.GenerationStatus;
 import com.pholser.junit.quickcheck.generator.Generator;
-import com.pholser.junit.quickcheck.generator.java.lang.StringGenerator;
-import com.pholser.junit.quickcheck.generator.java.time.LocalDateGenerator;
 import com.pholser.junit.quickcheck.random.SourceOfRandomness;
 import rentals.Rental;
 
-public class RentalGenerator extends Generator<Rental> {
-    private final LocalDateGenerator dateGenerator = new LocalDateGenerator();
-    private final StringGenerator stringGenerator = new StringGenerator();
+import static pbt.Generators.localDate;
+import static pbt.Generators.string;
 
+public class RentalGenerator extends Generator<Rental> {
     public RentalGenerator() {
         super(Rental.class);
     }
@@ -18,8 +16,8 @@ public class RentalGenerator extends Generator<Rental> {
     @Override
     public Rental generate(SourceOfRandomness sourceOfRandomness, GenerationStatus generationStatus) {
         return new Rental(
-                dateGenerator.generate(sourceOfRandomness, generationStatus),
-                stringGenerator.generate(sourceOfRandomness, generationStatus),
+                localDate(sourceOfRandomness),
+                string(sourceOfRandomness, generationStatus.size()),
                 Math.abs(sourceOfRandomness.nextDouble()));
     }
 }
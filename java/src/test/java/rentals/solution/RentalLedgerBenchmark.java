@@ -0,0 +1,66 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import rentals.Rental;
+import rentals.RentalLedger;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Total of the rentals of a date range from a {@link RentalLedger} compared with filtering the whole history.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RentalLedgerBenchmark {
+    private static final LocalDate FIRST_DAY = LocalDate.of(2020, 1, 1);
+
+    @Param({"1000", "100000"})
+    private int rentalCount;
+
+    private List<Rental> rentals;
+    private RentalLedger ledger;
+    private LocalDate from;
+    private LocalDate to;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new RentalGenerator();
+        rentals = new ArrayList<>(rentalCount);
+        for (var i = 0; i < rentalCount; i++) {
+            var rental = generator.generate(random, status);
+            rentals.add(new Rental(FIRST_DAY.plusDays(random.nextInt(0, 3650)), rental.label(), rental.amount()));
+        }
+        ledger = RentalLedger.of(rentals);
+        from = FIRST_DAY.plusDays(1000);
+        to = FIRST_DAY.plusDays(1030);
+    }
+
+    @Benchmark
+    public double filter() {
+        var total = 0.0;
+        for (var rental : rentals) {
+            if (!rental.date().isBefore(from) && !rental.date().isAfter(to)) {
+                total += rental.amount();
+            }
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double ledger() {
+        return ledger.total(from, to);
+    }
+}
@@ -0,0 +1,101 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.RentalLedger;
+import rentals.RentalRejection;
+import rentals.RentalTotal;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class RentalLedgerProperties {
+    @Property
+    public void statement_between_two_dates_should_be_the_printed_statement_of_the_rentals_in_that_range(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            @InRange(minInt = 0, maxInt = 99) int fromIndex,
+            @InRange(minInt = 0, maxInt = 99) int toIndex) {
+        val from = dateAt(rentals, fromIndex);
+        val to = dateAt(rentals, toIndex);
+
+        assertThat(RentalLedger.of(rentals).statement(from, to).mapLeft(RentalRejection::message))
+                .isEqualTo(StatementPrinter.calculateRental(between(rentals, from, to)));
+    }
+
+    @Property
+    public void rentals_on_the_same_date_should_keep_their_order(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            @InRange(minInt = 1, maxInt = 5) int dayCount) {
+        val crowded = Vector.ofAll(rentals).zipWithIndex()
+                .map(t -> new Rental(LocalDate.EPOCH.plusDays(t._2 % dayCount), t._1.label(), t._1.amount()))
+                .asJava();
+        val from = LocalDate.EPOCH.plusDays(1);
+        val to = LocalDate.EPOCH.plusDays(dayCount);
+
+        assertThat(RentalLedger.of(crowded).statement(from, to).mapLeft(RentalRejection::message))
+                .isEqualTo(StatementPrinter.calculateRental(between(crowded, from, to)));
+    }
+
+    @Property
+    public void total_between_two_dates_should_be_within_an_ulp_of_the_exact_sum(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            @InRange(minInt = 0, maxInt = 99) int fromIndex,
+            @InRange(minInt = 0, maxInt = 99) int toIndex) {
+        val from = dateAt(rentals, fromIndex);
+        val to = dateAt(rentals, toIndex);
+        val total = RentalLedger.of(rentals).total(from, to);
+        val exact = between(rentals, from, to)
+                .map(rental -> new BigDecimal(rental.amount()))
+                .fold(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(new BigDecimal(total).subtract(exact).abs())
+                .isLessThanOrEqualTo(new BigDecimal(Math.ulp(total)));
+    }
+
+    @Property
+    public void rentals_between_arbitrary_dates_should_be_the_sorted_rentals_in_that_range(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            @From(RentalGenerator.class) Rental fromRental,
+            @From(RentalGenerator.class) Rental toRental) {
+        val from = fromRental.date();
+        val to = toRental.date();
+
+        assertThat(RentalLedger.of(rentals).between(from, to))
+                .containsExactlyElementsOf(between(rentals, from, to));
+    }
+
+    @Property
+    public void label_totals_should_be_the_exact_totals_of_the_rentals_with_that_label(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            @InRange(minInt = 1, maxInt = 5) int labelCount) {
+        val labelled = Vector.ofAll(rentals).zipWithIndex()
+                .map(t -> new Rental(t._1.date(), "label " + t._2 % labelCount, t._1.amount()));
+        val ledger = RentalLedger.of(labelled);
+
+        assertThat(ledger.labels()).isEqualTo(labelled.map(Rental::label).toSet());
+        labelled.map(Rental::label).distinct().forEach(label ->
+                assertThat(ledger.total(label))
+                        .isEqualTo(RentalTotal.exact(labelled.filter(r -> r.label().equals(label)).asJava())));
+        assertThat(ledger.total("unknown")).isZero();
+    }
+
+    private static LocalDate dateAt(List<Rental> rentals, int index) {
+        return rentals.isEmpty() ? LocalDate.EPOCH : rentals.get(index % rentals.size()).date();
+    }
+
+    private static Vector<Rental> between(List<Rental> rentals, LocalDate from, LocalDate to) {
+        return Vector.ofAll(rentals)
+                .filter(rental -> !rental.date().isBefore(from) && !rental.date().isAfter(to))
+                .sortBy(Rental::date);
+    }
+}
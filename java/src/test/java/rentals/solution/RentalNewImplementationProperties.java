@@ -2,8 +2,8 @@ package rentals.solution;
 
 import com.pholser.junit.quickcheck.From;
 import com.pholser.junit.quickcheck.Property;
-import com.pholser.junit.quickcheck.runner.JUnitQuickcheck;
 import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
 import rentals.Rental;
 import rentals.RentalCalculator;
 
@@ -11,7 +11,7 @@ import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@RunWith(JUnitQuickcheck.class)
+@RunWith(ReplayFirst.class)
 public class RentalNewImplementationProperties {
     @Property
     public void new_implementation_should_return_the_same_result(
@@ -0,0 +1,71 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import rentals.Rental;
+import rentals.RentalTotal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Scaling of {@link RentalTotal#parallel(List, ForkJoinPool)} with the pool parallelism, compared with the
+ * sequential {@code +=} total and the sequential exact one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RentalTotalBenchmark {
+    @Param({"1000000"})
+    private int rentalCount;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<Rental> rentals;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new RentalGenerator();
+        rentals = new ArrayList<>(rentalCount);
+        for (var i = 0; i < rentalCount; i++) {
+            rentals.add(generator.generate(random, status));
+        }
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public double sequential() {
+        var total = 0.0;
+        for (var rental : rentals) {
+            total += rental.amount();
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double exact() {
+        return RentalTotal.exact(rentals);
+    }
+
+    @Benchmark
+    public double parallel() {
+        return RentalTotal.parallel(rentals, pool);
+    }
+}
@@ -0,0 +1,130 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.RentalCalculator;
+import rentals.RentalTotal;
+import rentals.StatementFormatter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class RentalTotalProperties {
+    @Property
+    public void exact_total_should_be_the_correctly_rounded_sum_of_the_amounts(List<Long> bits) {
+        val rentals = rentalsOf(bits);
+        val total = RentalTotal.exact(rentals);
+        val exact = rentals.stream()
+                .map(rental -> new BigDecimal(rental.amount()))
+                .reduce(BigDecimal.ZERO, BigDecimal::add);
+
+        assertThat(new BigDecimal(total).subtract(exact).abs())
+                .isLessThanOrEqualTo(new BigDecimal(Math.ulp(total)).divide(BigDecimal.valueOf(2)));
+    }
+
+    @Property
+    public void parallel_total_should_not_depend_on_the_split_size_or_the_parallelism(
+            List<Long> bits,
+            @InRange(minInt = 1, maxInt = 64) int splitSize,
+            @InRange(minInt = 1, maxInt = 8) int parallelism) {
+        val rentals = rentalsOf(bits);
+        double total = onPool(parallelism, pool -> RentalTotal.parallel(rentals, pool, splitSize));
+
+        assertThat(total).isEqualTo(RentalTotal.exact(rentals));
+    }
+
+    @Property
+    public void exact_total_should_not_depend_on_the_order_of_the_rentals(List<Long> bits, long seed) {
+        val rentals = rentalsOf(bits);
+        val shuffled = new ArrayList<>(rentals);
+        Collections.shuffle(shuffled, new Random(seed));
+
+        assertThat(RentalTotal.exact(shuffled)).isEqualTo(RentalTotal.exact(rentals));
+    }
+
+    @Property
+    public void totals_should_be_correctly_rounded_even_when_partial_sums_overflow(
+            List<Long> bits,
+            @InRange(minInt = 0, maxInt = 8) int maxValues,
+            @InRange(minInt = 1, maxInt = 64) int splitSize,
+            long seed) {
+        val amounts = new ArrayList<Double>();
+        bits.stream().map(Double::longBitsToDouble).filter(Double::isFinite).forEach(amounts::add);
+        val random = new Random(seed);
+        for (var i = 0; i < maxValues; i++) {
+            amounts.add(random.nextBoolean() ? Double.MAX_VALUE : -Double.MAX_VALUE);
+        }
+        Collections.shuffle(amounts, random);
+        val rentals = amounts.stream().map(amount -> new Rental(LocalDate.EPOCH, "", amount)).collect(toList());
+        val exact = amounts.stream().map(BigDecimal::new).reduce(BigDecimal.ZERO, BigDecimal::add).doubleValue();
+
+        double parallel = onPool(2, pool -> RentalTotal.parallel(rentals, pool, splitSize));
+
+        assertThat(RentalTotal.exact(rentals)).isEqualTo(exact);
+        assertThat(parallel).isEqualTo(exact);
+    }
+
+    @Property
+    public void max_values_cancelling_out_should_sum_exactly_whatever_the_split(
+            @InRange(minInt = 1, maxInt = 3) int splitSize) {
+        val rentals = List.of(Double.MAX_VALUE, Double.MAX_VALUE, -Double.MAX_VALUE, 1.0).stream()
+                .map(amount -> new Rental(LocalDate.EPOCH, "", amount))
+                .collect(toList());
+
+        double parallel = onPool(2, pool -> RentalTotal.parallel(rentals, pool, splitSize));
+
+        assertThat(RentalTotal.exact(rentals)).isEqualTo(Double.MAX_VALUE);
+        assertThat(parallel).isEqualTo(Double.MAX_VALUE);
+    }
+
+    @Property
+    public void parallel_statement_should_only_differ_from_the_sequential_one_by_the_rounding_of_the_total(
+            List<@From(RentalGenerator.class) Rental> rentals,
+            @InRange(minInt = 1, maxInt = 8) int parallelism) {
+        val sequential = new RentalCalculator(rentals);
+        val statement = sequential.calculateRental();
+        val parallel = onPool(parallelism, pool -> {
+            val calculator = RentalCalculator.parallel(rentals, pool);
+            calculator.calculateRental();
+            return calculator;
+        });
+
+        assertThat(parallel.calculateRental()).isEqualTo(statement.map(s ->
+                s.substring(0, s.lastIndexOf("Total amount")) + new StatementFormatter().total(parallel.getAmount())));
+        assertThat(parallel.getAmount()).isEqualTo(RentalTotal.exact(rentals));
+        assertThat(Math.abs(sequential.getAmount() - parallel.getAmount()))
+                .isLessThanOrEqualTo(rentals.size() * Math.ulp(1.0) * rentals.stream().mapToDouble(r -> Math.abs(r.amount())).sum());
+    }
+
+    private static List<Rental> rentalsOf(List<Long> bits) {
+        return bits.stream()
+                .map(Double::longBitsToDouble)
+                .filter(amount -> Double.isFinite(amount) && Math.abs(amount) < 1e300)
+                .map(amount -> new Rental(LocalDate.EPOCH, "", amount))
+                .collect(toList());
+    }
+
+    private static <T> T onPool(int parallelism, Function<ForkJoinPool, T> calculation) {
+        val pool = new ForkJoinPool(parallelism);
+        try {
+            return calculation.apply(pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import org.openjdk.jmh.annotations.*;
+import rentals.Rental;
+import rentals.StatementFormatter;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of formatting one statement line with {@link StatementFormatter} compared with the
+ * {@link String#format(String, Object...)} it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StatementFormatterBenchmark {
+    private static final int RENTALS = 1024;
+
+    private final StatementFormatter formatter = new StatementFormatter();
+    private Rental[] rentals;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        var random = new SourceOfRandomness(new Random(42));
+        var status = new SimpleGenerationStatus(new GeometricDistribution(), random, 0);
+        var generator = new RentalGenerator();
+        rentals = new Rental[RENTALS];
+        for (var i = 0; i < RENTALS; i++) {
+            rentals[i] = generator.generate(random, status);
+        }
+    }
+
+    @Benchmark
+    public Object stringFormat() {
+        var rental = rentals[next = (next + 1) & (RENTALS - 1)];
+        return String.format("%tF : %s | %f \n", rental.date(), rental.label(), rental.amount());
+    }
+
+    @Benchmark
+    public Object statementFormatter() {
+        return formatter.line(rentals[next = (next + 1) & (RENTALS - 1)]);
+    }
+}
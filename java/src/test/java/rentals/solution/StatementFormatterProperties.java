@@ -0,0 +1,86 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import com.pholser.junit.quickcheck.generator.InRange;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.StatementFormatter;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class StatementFormatterProperties {
+    private static final Locale[] LOCALES = {
+            Locale.US, Locale.FRANCE, Locale.GERMANY, Locale.forLanguageTag("th-TH-u-nu-thai"), Locale.forLanguageTag("ar-EG")
+    };
+
+    @Property(trials = 1000)
+    public void line_should_be_formatted_as_String_format_does(
+            @From(RentalGenerator.class) Rental rental,
+            long amountBits,
+            @InRange(minInt = 0, maxInt = 4) int localeIndex) {
+        var locale = LOCALES[localeIndex];
+        var amount = Double.longBitsToDouble(amountBits);
+
+        assertThat(new StatementFormatter(locale).line(rental.date(), rental.label(), amount).toString())
+                .isEqualTo(String.format(locale, "%tF : %s | %f \n", rental.date(), rental.label(), amount));
+    }
+
+    @Property(trials = 1000)
+    public void total_should_be_formatted_as_String_format_does(
+            double amount,
+            @InRange(minDouble = -1e-5, maxDouble = 1e-5) double tinyAmount,
+            @InRange(minDouble = 0, maxDouble = 1e7) double decimalAmount,
+            @InRange(minInt = -30, maxInt = 30) int exponent) {
+        for (var value : new double[]{amount, tinyAmount, decimalAmount, Math.scalb(decimalAmount, exponent), Math.rint(decimalAmount) + 0.5e-6}) {
+            assertThat(new StatementFormatter(Locale.US).total(value).toString())
+                    .isEqualTo(String.format(Locale.US, "Total amount | %f", value));
+        }
+    }
+
+    @Property(trials = 1000)
+    public void amounts_around_rounding_ties_should_be_formatted_as_String_format_does(
+            @InRange(minLong = 0, maxLong = 1_000_000_000_000L) long micros,
+            @InRange(minInt = -2, maxInt = 2) int ulps) {
+        var tie = (micros + 0.5) / 1e6;
+        var value = tie;
+        for (var i = 0; i < Math.abs(ulps); i++) {
+            value = ulps < 0 ? Math.nextDown(value) : Math.nextUp(value);
+        }
+
+        assertThat(new StatementFormatter(Locale.US).total(value).toString())
+                .isEqualTo(String.format(Locale.US, "Total amount | %f", value));
+    }
+
+    @Property
+    public void statement_line_should_not_depend_on_previous_lines(
+            @From(RentalGenerator.class) Rental first,
+            @From(RentalGenerator.class) Rental second) {
+        var formatter = new StatementFormatter();
+        formatter.line(first);
+
+        assertThat(formatter.line(second).toString())
+                .isEqualTo(String.format("%tF : %s | %f \n", second.date(), second.label(), second.amount()));
+    }
+
+    @Property
+    public void dates_around_the_common_era_should_be_formatted_as_String_format_does(
+            @InRange(minLong = -4_371_000, maxLong = 2_933_000) long epochDay) {
+        var date = LocalDate.ofEpochDay(epochDay);
+        assertThat(new StatementFormatter(Locale.US).line(date, "", 0).toString())
+                .isEqualTo(String.format(Locale.US, "%tF : %s | %f \n", date, "", 0d));
+    }
+
+    @Property(trials = 1000)
+    public void line_of_an_epoch_day_should_be_the_line_of_its_date(int epochDay, boolean nearCommonEra) {
+        var day = nearCommonEra ? epochDay % 1_000_000 : epochDay;
+        var formatter = new StatementFormatter(Locale.US);
+        assertThat(formatter.line(day, "label", 1.5).toString())
+                .isEqualTo(new StatementFormatter(Locale.US).line(LocalDate.ofEpochDay(day), "label", 1.5).toString());
+    }
+}
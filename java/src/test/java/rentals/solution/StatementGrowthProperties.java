@@ -0,0 +1,43 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.internal.GeometricDistribution;
+import com.pholser.junit.quickcheck.internal.generator.SimpleGenerationStatus;
+import com.pholser.junit.quickcheck.random.SourceOfRandomness;
+import io.vavr.collection.Vector;
+import lombok.val;
+import org.junit.Test;
+import pbt.Growth;
+import rentals.Rental;
+import rentals.RentalCalculator;
+
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static pbt.Growth.Bound.LINEAR;
+
+public class StatementGrowthProperties {
+    private static final int LABEL_LENGTH = 10;
+
+    @Test
+    public void rental_calculator_statement_should_grow_linearly() {
+        growthOf("RentalCalculator.calculateRental", rentals -> new RentalCalculator(rentals.asJava()).calculateRental())
+                .assertAtMost(LINEAR);
+    }
+
+    @Test
+    public void statement_printer_statement_should_grow_faster_than_linearly() {
+        val result = growthOf("StatementPrinter.calculateRental", StatementPrinter::calculateRental).measure(LINEAR);
+
+        assertThat(result.withinBound()).as(result.toString()).isFalse();
+    }
+
+    private static Growth<Vector<Rental>> growthOf(String name, Function<Vector<Rental>, ?> statement) {
+        return Growth.of(name, StatementGrowthProperties::rentals, statement).sizes(256, 8192);
+    }
+
+    private static Vector<Rental> rentals(SourceOfRandomness random, int size) {
+        val generator = new RentalGenerator();
+        val status = new SimpleGenerationStatus(new GeometricDistribution(), random, LABEL_LENGTH);
+        return Vector.fill(size, () -> generator.generate(random, status));
+    }
+}
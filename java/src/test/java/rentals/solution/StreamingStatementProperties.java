@@ -0,0 +1,44 @@
+package rentals.solution;
+
+import com.pholser.junit.quickcheck.From;
+import com.pholser.junit.quickcheck.Property;
+import lombok.val;
+import org.junit.runner.RunWith;
+import pbt.ReplayFirst;
+import rentals.Rental;
+import rentals.RentalCalculator;
+import rentals.RentalRejection;
+
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+import java.nio.channels.Channels;
+import java.util.List;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(ReplayFirst.class)
+public class StreamingStatementProperties {
+    @Property
+    public void streamed_statement_should_be_the_same_as_the_printed_one(
+            List<@From(RentalGenerator.class) Rental> rentals) {
+        val output = new StringWriter();
+
+        assertThat(new RentalCalculator(rentals).calculateRental(output)
+                .map(StringWriter::toString)
+                .mapLeft(RentalRejection::message))
+                .isEqualTo(StatementPrinter.calculateRental(io.vavr.collection.List.ofAll(rentals)));
+    }
+
+    @Property
+    public void statement_written_to_a_channel_should_be_the_utf8_bytes_of_the_printed_one(
+            List<@From(RentalGenerator.class) Rental> rentals) {
+        val bytes = new ByteArrayOutputStream();
+        new RentalCalculator(rentals).calculateRental(Channels.newChannel(bytes));
+
+        assertThat(bytes.toByteArray())
+                .isEqualTo(StatementPrinter.calculateRental(io.vavr.collection.List.ofAll(rentals))
+                        .map(statement -> statement.getBytes(UTF_8))
+                        .getOrElse(new byte[0]));
+    }
+}